@@ -13,11 +13,11 @@ import java.util.Scanner;
  * @param <Key>   用作 key 泛型类型
  * @param <Value> 用作 value 的泛型类型
  * @author igaozp
- * @version 1.1
+ * @version 1.2
  * @since 2017-07-04
  */
 @SuppressWarnings("unused")
-public class BinarySearchST<Key extends Comparable<Key>, Value> {
+public class BinarySearchST<Key extends Comparable<Key>, Value> implements SymbolTable<Key, Value> {
     /**
      * 默认的初始化大小
      */
@@ -142,12 +142,16 @@ public class BinarySearchST<Key extends Comparable<Key>, Value> {
      * 查找给定的键，找到则更新其值，否则在表中新建节点
      *
      * @param key 需要查找的键
-     * @param val 需要更新或插入的值
+     * @param val 需要更新或插入的值，为 null 时删除该键
      */
     public void put(Key key, Value val) {
         if (key == null) {
             throw new IllegalArgumentException("first argument to put() is null");
         }
+        if (val == null) {
+            delete(key);
+            return;
+        }
         int i = rank(key);
         if (i < size && keys[i].compareTo(key) == 0) {
             values[i] = val;
@@ -180,13 +184,19 @@ public class BinarySearchST<Key extends Comparable<Key>, Value> {
         if (isEmpty()) {
             return;
         }
-        // 删除元素
+        // 键不存在
         int i = rank(key);
+        if (i == size || keys[i].compareTo(key) != 0) {
+            return;
+        }
+        // 删除元素
         for (int j = i; j < size - 1; j++) {
             keys[j] = keys[j + 1];
             values[j] = values[j + 1];
         }
         size--;
+        keys[size] = null;
+        values[size] = null;
     }
 
     /**
@@ -13,11 +13,11 @@ import java.util.Scanner;
  * @param <Key>   泛型类型
  * @param <Value> 泛型类型
  * @author igaozp
- * @version 1.0
+ * @version 1.1
  * @since 2017-07-05
  */
 @SuppressWarnings("unused")
-public class BinarySearchTree<Key extends Comparable<Key>, Value> {
+public class BinarySearchTree<Key extends Comparable<Key>, Value> implements SymbolTable<Key, Value> {
     /**
      * 二叉树的根节点
      */
@@ -0,0 +1,171 @@
+package io.metatom.find;
+
+/**
+ * 布隆过滤器
+ * <p>
+ * 使用 m 个位和 k 个哈希函数，加入键时把 k 个位置为 1，检查时 k 个位都为 1 才认为键可能存在。
+ * 预计加入 n 个键、误报率为 p 时，m = -n ln p / (ln 2)^2，k = (m / n) ln 2。
+ * k 个哈希函数由两个哈希值组合得到：h1 + i * h2（Kirsch-Mitzenmacher），位存放在 long 数组中。
+ * 不支持删除
+ *
+ * @param <Key> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class BloomFilter<Key> implements Filter<Key> {
+    /**
+     * 位数的上限
+     */
+    private static final long MAX_BITS = 1L << 36;
+    /**
+     * 位
+     */
+    private final long[] bits;
+    /**
+     * 位数
+     */
+    private final long m;
+    /**
+     * 哈希函数的个数
+     */
+    private final int k;
+    /**
+     * 加入的键的数量，重复加入的键会被重复计数
+     */
+    private long n;
+
+    /**
+     * 构造方法
+     *
+     * @param expected          预计加入的键的数量
+     * @param falsePositiveRate 加入 expected 个键之后的误报率
+     */
+    public BloomFilter(long expected, double falsePositiveRate) {
+        if (expected <= 0) {
+            throw new IllegalArgumentException("expected number of keys must be positive: " + expected);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long size = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        if (size > MAX_BITS) {
+            throw new IllegalArgumentException("bloom filter too large: " + size + " bits");
+        }
+        bits = new long[(int) ((Math.max(64, size) + 63) >>> 6)];
+        m = (long) bits.length << 6;
+        k = Math.max(1, (int) Math.round((double) m / expected * ln2));
+    }
+
+    /**
+     * 第 i 个哈希函数对应的位
+     *
+     * @param h1 第一个哈希值
+     * @param h2 第二个哈希值
+     * @param i  哈希函数的序号
+     * @return 位的序号
+     */
+    private long bit(long h1, long h2, int i) {
+        return (h1 + i * h2) % m;
+    }
+
+    /**
+     * 第一个哈希值
+     *
+     * @param key 键
+     * @return 非负的哈希值
+     */
+    private static long hash1(Object key) {
+        return IntIntMap.mix(key.hashCode()) & 0xffffffffL;
+    }
+
+    /**
+     * 第二个哈希值，与第一个相互独立；总是奇数，避免 k 个位重合
+     *
+     * @param key 键
+     * @return 非负的哈希值
+     */
+    private static long hash2(Object key) {
+        return LongLongMap.mix(key.hashCode() ^ 0x9e3779b97f4a7c15L) & 0xffffffffL | 1;
+    }
+
+    @Override
+    public boolean add(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to add() is null");
+        }
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        for (int i = 0; i < k; i++) {
+            long b = bit(h1, h2, i);
+            bits[(int) (b >>> 6)] |= 1L << b;
+        }
+        n++;
+        return true;
+    }
+
+    @Override
+    public boolean mightContain(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to mightContain() is null");
+        }
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        for (int i = 0; i < k; i++) {
+            long b = bit(h1, h2, i);
+            if ((bits[(int) (b >>> 6)] & 1L << b) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 位数
+     *
+     * @return 位数
+     */
+    public long bitSize() {
+        return m;
+    }
+
+    /**
+     * 哈希函数的个数
+     *
+     * @return 哈希函数的个数
+     */
+    public int hashCount() {
+        return k;
+    }
+
+    /**
+     * 根据已加入的键的数量估计当前的误报率 (1 - e^(-kn/m))^k
+     *
+     * @return 估计的误报率
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-k * (double) n / m), k);
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        BloomFilter<Integer> filter = new BloomFilter<>(count, 0.01);
+        for (int i = 0; i < count; i++) {
+            filter.add(i);
+        }
+        int falsePositives = 0;
+        for (int i = count; i < 2 * count; i++) {
+            if (filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("bits = %d, k = %d, false positive rate = %.4f (expected %.4f)%n", filter.bitSize(),
+                filter.hashCount(), (double) falsePositives / count, filter.expectedFalsePositiveRate());
+    }
+}
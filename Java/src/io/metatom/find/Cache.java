@@ -0,0 +1,62 @@
+package io.metatom.find;
+
+/**
+ * 容量有限的缓存
+ * <p>
+ * 键值对的数量达到容量之后，放入新的键时由实现按照各自的策略淘汰已有的键，或者拒绝新的键。
+ * 查找本身也是一次访问，会影响之后的淘汰顺序。实现都不是线程安全的
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface Cache<Key, Value> {
+    /**
+     * 查找键对应的值，同时记录一次访问
+     *
+     * @param key 查找的键
+     * @return 键对应的值，不在缓存中时为 null
+     */
+    Value get(Key key);
+
+    /**
+     * 放入键值对，必要时淘汰其他的键
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值，不能为 null
+     */
+    void put(Key key, Value val);
+
+    /**
+     * 删除键
+     *
+     * @param key 删除的键
+     */
+    void delete(Key key);
+
+    /**
+     * 获取缓存中键值对的数量
+     *
+     * @return 键值对的数量
+     */
+    int size();
+
+    /**
+     * 获取缓存的容量
+     *
+     * @return 缓存的容量
+     */
+    int capacity();
+
+    /**
+     * 检查缓存是否为空
+     *
+     * @return {@code true} 缓存为空
+     * {@code false} 缓存不为空
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
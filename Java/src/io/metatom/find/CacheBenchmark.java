@@ -0,0 +1,190 @@
+package io.metatom.find;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * 缓存命中率和吞吐量的基准测试
+ * <p>
+ * 访问序列中的键服从 Zipf 分布，排名为 r 的键被访问的概率与 1 / r^s 成正比，键的排名与键的值之间是随机的。
+ * 除了不同偏斜程度的 Zipf 序列，还测试在 Zipf 序列中周期性插入一次不重复键的顺序扫描的情况。
+ * 每次访问先调用 get，未命中时再调用 put。作为基准，"clear on full" 使用 {@link LinearProbingHashST}，
+ * 满了之后清空整个散列表
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class CacheBenchmark {
+    /**
+     * 不同键的数量
+     */
+    private static final int UNIVERSE = 1 << 20;
+    /**
+     * 访问序列的长度
+     */
+    private static final int TRACE_LENGTH = 1 << 21;
+    /**
+     * 缓存的容量
+     */
+    private static final int[] CAPACITIES = {1000, 10000, 100000};
+    /**
+     * 测试的缓存的名称
+     */
+    private static final String[] NAMES = {"clear on full", "LRUCache", "LFUCache", "TinyLFUCache"};
+
+    /**
+     * 满了之后清空的散列表，模拟没有淘汰策略的缓存
+     */
+    private static final class ClearOnFull implements Cache<Integer, Integer> {
+        private final int capacity;
+        private LinearProbingHashST<Integer, Integer> st = new LinearProbingHashST<>();
+
+        ClearOnFull(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public Integer get(Integer key) {
+            return st.get(key);
+        }
+
+        @Override
+        public void put(Integer key, Integer val) {
+            if (st.size() == capacity) {
+                st = new LinearProbingHashST<>();
+            }
+            st.put(key, val);
+        }
+
+        @Override
+        public void delete(Integer key) {
+            st.delete(key);
+        }
+
+        @Override
+        public int size() {
+            return st.size();
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+    }
+
+    /**
+     * 创建测试的缓存
+     *
+     * @param which    缓存在 NAMES 中的下标
+     * @param capacity 缓存的容量
+     * @return 与 NAMES 对应的缓存
+     */
+    private static Cache<Integer, Integer> create(int which, int capacity) {
+        switch (which) {
+            case 0:
+                return new ClearOnFull(capacity);
+            case 1:
+                return new LRUCache<>(capacity);
+            case 2:
+                return new LFUCache<>(capacity);
+            default:
+                return new TinyLFUCache<>(capacity);
+        }
+    }
+
+    /**
+     * 生成 Zipf 分布的访问序列
+     *
+     * @param random 随机数生成器
+     * @param s      Zipf 分布的指数
+     * @param scan   每隔多少次访问插入一次长度相同的顺序扫描，0 表示不扫描
+     * @return 访问序列
+     */
+    static Integer[] zipfTrace(Random random, double s, int scan) {
+        double[] cdf = new double[UNIVERSE];
+        double sum = 0;
+        for (int r = 0; r < UNIVERSE; r++) {
+            sum += 1 / Math.pow(r + 1, s);
+            cdf[r] = sum;
+        }
+        // 排名到键的随机映射
+        Integer[] keys = new Integer[UNIVERSE];
+        for (int i = 0; i < UNIVERSE; i++) {
+            keys[i] = i;
+        }
+        for (int i = UNIVERSE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+        Integer[] trace = new Integer[TRACE_LENGTH];
+        int next = UNIVERSE;
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            if (scan > 0 && i % (2 * scan) >= scan) {
+                // 扫描的键只出现一次；连续的整数会在 LinearProbingHashST 中形成很长的簇，因此先打乱
+                trace[i] = IntIntMap.mix(next++);
+                continue;
+            }
+            int r = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            trace[i] = keys[Math.min(UNIVERSE - 1, r < 0 ? -r - 1 : r)];
+        }
+        return trace;
+    }
+
+    /**
+     * 在访问序列上运行缓存
+     *
+     * @param trace    访问序列
+     * @param cache    创建缓存的方法
+     * @param capacity 缓存的容量
+     * @return 命中率和每秒的访问次数
+     */
+    private static double[] run(Integer[] trace, IntFunction<Cache<Integer, Integer>> cache, int capacity) {
+        // 第一次运行用于预热
+        double[] result = null;
+        for (int round = 0; round < 2; round++) {
+            Cache<Integer, Integer> c = cache.apply(capacity);
+            long hits = 0;
+            long start = System.nanoTime();
+            for (Integer key : trace) {
+                if (c.get(key) != null) {
+                    hits++;
+                } else {
+                    c.put(key, key);
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            result = new double[]{(double) hits / trace.length, trace.length / seconds};
+        }
+        return result;
+    }
+
+    /**
+     * 运行基准测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] traces = {"zipf 0.8", "zipf 0.99", "zipf 0.99 + scans"};
+        Integer[][] data = {
+                zipfTrace(random, 0.8, 0),
+                zipfTrace(random, 0.99, 0),
+                zipfTrace(random, 0.99, 5000),
+        };
+        for (int t = 0; t < traces.length; t++) {
+            for (int capacity : CAPACITIES) {
+                System.out.printf("%s, capacity %d%n", traces[t], capacity);
+                for (int which = 0; which < NAMES.length; which++) {
+                    int w = which;
+                    double[] result = run(data[t], cap -> create(w, cap), capacity);
+                    System.out.printf("  %-14s hit rate %5.1f%%   %6.2f Mops/s%n",
+                            NAMES[which], 100 * result[0], result[1] / 1e6);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.metatom.find;
+
+/**
+ * 缓存使用的侵入式双向链表
+ * <p>
+ * 节点同时是散列表中的值，持有节点就可以在常数时间内把它移动到链表头部或者从链表中删除，不需要查找。
+ * 链表头部是最近访问的节点，尾部是最久没有访问的节点
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class CacheList<Key, Value> {
+    /**
+     * 哨兵节点，head.next 为头部，head.prev 为尾部
+     */
+    private final Node<Key, Value> head = new Node<>(null, null);
+    /**
+     * 节点的数量
+     */
+    private int n;
+
+    /**
+     * 链表节点
+     */
+    static final class Node<Key, Value> {
+        final Key key;
+        Value val;
+        /**
+         * 由使用链表的缓存自行解释，例如访问次数或者所在的链表
+         */
+        int tag;
+        private Node<Key, Value> prev;
+        private Node<Key, Value> next;
+
+        Node(Key key, Value val) {
+            this.key = key;
+            this.val = val;
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    CacheList() {
+        head.prev = head;
+        head.next = head;
+    }
+
+    /**
+     * 获取节点的数量
+     *
+     * @return 节点的数量
+     */
+    int size() {
+        return n;
+    }
+
+    /**
+     * 检查链表是否为空
+     *
+     * @return {@code true} 链表为空
+     */
+    boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * 将不在任何链表中的节点加入头部
+     *
+     * @param x 节点
+     */
+    void addFirst(Node<Key, Value> x) {
+        x.prev = head;
+        x.next = head.next;
+        head.next.prev = x;
+        head.next = x;
+        n++;
+    }
+
+    /**
+     * 从链表中删除节点
+     *
+     * @param x 链表中的节点
+     */
+    void remove(Node<Key, Value> x) {
+        x.prev.next = x.next;
+        x.next.prev = x.prev;
+        x.prev = null;
+        x.next = null;
+        n--;
+    }
+
+    /**
+     * 将链表中的节点移动到头部
+     *
+     * @param x 链表中的节点
+     */
+    void moveToFront(Node<Key, Value> x) {
+        remove(x);
+        addFirst(x);
+    }
+
+    /**
+     * 获取尾部的节点
+     *
+     * @return 尾部的节点，链表为空时为 null
+     */
+    Node<Key, Value> last() {
+        return n == 0 ? null : head.prev;
+    }
+}
@@ -0,0 +1,145 @@
+package io.metatom.find;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发散列表的吞吐量基准测试
+ * <p>
+ * 预先放入 {@value #KEYS} 个键，然后分别用 1 到 64 个线程在 {@link ConcurrentHashST} 和
+ * {@link ConcurrentHashMap} 上运行 95% 查找、5% 写入的随机操作，每轮持续 {@value #MILLIS} 毫秒，输出每秒的操作数。
+ * 线程数超过 CPU 核数时吞吐量主要反映调度的开销
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ConcurrentHashBenchmark {
+    /**
+     * 键的数量
+     */
+    private static final int KEYS = 1 << 20;
+    /**
+     * 每轮持续的毫秒数
+     */
+    private static final int MILLIS = 1000;
+    /**
+     * 写操作所占的百分比
+     */
+    private static final int WRITE_PERCENT = 5;
+    /**
+     * 测试的线程数
+     */
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    /**
+     * 被测试的散列表
+     */
+    private interface Table {
+        Object get(Integer key);
+
+        void put(Integer key, Integer val);
+    }
+
+    /**
+     * 运行一轮测试
+     *
+     * @param table   散列表
+     * @param keys    键
+     * @param threads 线程数
+     * @return 每秒的操作数
+     * @throws InterruptedException 等待线程时被中断
+     */
+    private static double run(Table table, Integer[] keys, int threads) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                while (true) {
+                    // 每 1024 次操作检查一次时间
+                    for (int i = 0; i < 1024; i++) {
+                        Integer key = keys[random.nextInt(keys.length)];
+                        if (random.nextInt(100) < WRITE_PERCENT) {
+                            table.put(key, i);
+                        } else {
+                            table.get(key);
+                        }
+                    }
+                    count += 1024;
+                    if (System.nanoTime() >= deadline[0]) {
+                        break;
+                    }
+                }
+                ops.add(count);
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + MILLIS * 1_000_000L;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() / ((System.nanoTime() - begin) / 1e9);
+    }
+
+    /**
+     * 运行基准测试
+     *
+     * @param args 命令行参数
+     * @throws InterruptedException 等待线程时被中断
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Integer[] keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i * 31;
+        }
+        ConcurrentHashST<Integer, Integer> st = new ConcurrentHashST<>(64);
+        ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        for (Integer key : keys) {
+            st.put(key, key);
+            map.put(key, key);
+        }
+        Table stTable = new Table() {
+            @Override
+            public Object get(Integer key) {
+                return st.get(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer val) {
+                st.put(key, val);
+            }
+        };
+        Table mapTable = new Table() {
+            @Override
+            public Object get(Integer key) {
+                return map.get(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer val) {
+                map.put(key, val);
+            }
+        };
+
+        System.out.println(Runtime.getRuntime().availableProcessors() + " processors, 95% get / 5% put");
+        for (int threads : THREADS) {
+            double a = run(stTable, keys, threads);
+            double b = run(mapTable, keys, threads);
+            System.out.printf("%2d threads   ConcurrentHashST %8.2f Mops/s   ConcurrentHashMap %8.2f Mops/s%n",
+                    threads, a / 1e6, b / 1e6);
+        }
+    }
+}
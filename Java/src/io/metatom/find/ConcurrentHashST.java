@@ -0,0 +1,318 @@
+package io.metatom.find;
+
+import io.metatom.base.Queue;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 支持并发访问的拉链法散列表
+ * <p>
+ * 与 {@link SeparateChainingHashST} 相同，每个桶是一条链表，但整个散列表被分成若干段（segment），
+ * 每一段有自己的桶数组和锁，写操作只锁住键所在的段，不同段上的写操作互不影响（lock striping）。
+ * 链表节点的键和后继不可变，值为 volatile，桶数组为 AtomicReferenceArray，写入桶时使用 release、读取时使用 acquire 语义，
+ * 因此读操作不需要加锁：插入总是在链表头部发布新节点，删除时复制被删除节点之前的部分，
+ * 正在遍历旧链表的读操作仍然能看到一条完整的链表。每一段独立扩容，扩容时复制节点后一次性发布新的桶数组，
+ * 只阻塞同一段上的写操作。size 和 keys 在并发修改时只是近似值
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.2
+ * @since 2026-10-19
+ */
+public class ConcurrentHashST<Key, Value> implements SymbolTable<Key, Value> {
+    /**
+     * 默认的段数
+     */
+    private static final int DEFAULT_CONCURRENCY = 16;
+    /**
+     * 每一段初始化的桶数
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     * 所有的段
+     */
+    private final Segment<Key, Value>[] segments;
+    /**
+     * 选择段时哈希值右移的位数
+     */
+    private final int segmentShift;
+
+    /**
+     * 链表节点，只有值可以修改
+     */
+    private static final class Node<Key, Value> {
+        private final Key key;
+        private final int hash;
+        private final Node<Key, Value> next;
+        private volatile Value val;
+
+        Node(Key key, int hash, Value val, Node<Key, Value> next) {
+            this.key = key;
+            this.hash = hash;
+            this.val = val;
+            this.next = next;
+        }
+    }
+
+    /**
+     * 段，持有锁的线程才能修改
+     */
+    private static final class Segment<Key, Value> {
+        /**
+         * 写操作的锁
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+        /**
+         * 桶数组，扩容时整体替换
+         */
+        private volatile AtomicReferenceArray<Node<Key, Value>> table = new AtomicReferenceArray<>(INIT_CAPACITY);
+        /**
+         * 该段中键值对的数量
+         */
+        private volatile int count;
+
+        /**
+         * 在该段中查找键
+         *
+         * @param key 键
+         * @param h   键的哈希值
+         * @return 值，不存在时为 null
+         */
+        Value get(Object key, int h) {
+            AtomicReferenceArray<Node<Key, Value>> t = table;
+            for (Node<Key, Value> x = t.getAcquire(h & (t.length() - 1)); x != null; x = x.next) {
+                if (x.hash == h && key.equals(x.key)) {
+                    return x.val;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 在该段中添加键值对
+         *
+         * @param key 键
+         * @param h   键的哈希值
+         * @param val 值
+         */
+        void put(Key key, int h, Value val) {
+            lock.lock();
+            try {
+                AtomicReferenceArray<Node<Key, Value>> t = table;
+                int i = h & (t.length() - 1);
+                Node<Key, Value> head = t.get(i);
+                for (Node<Key, Value> x = head; x != null; x = x.next) {
+                    if (x.hash == h && key.equals(x.key)) {
+                        x.val = val;
+                        return;
+                    }
+                }
+                t.setRelease(i, new Node<>(key, h, val, head));
+                // 平均链表长度超过 3/4 时扩容
+                if (++count > t.length() - (t.length() >>> 2)) {
+                    resize(t);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 在该段中删除键
+         *
+         * @param key 键
+         * @param h   键的哈希值
+         */
+        void delete(Object key, int h) {
+            lock.lock();
+            try {
+                AtomicReferenceArray<Node<Key, Value>> t = table;
+                int i = h & (t.length() - 1);
+                Node<Key, Value> head = t.get(i);
+                Node<Key, Value> target = head;
+                while (target != null && !(target.hash == h && key.equals(target.key))) {
+                    target = target.next;
+                }
+                if (target == null) {
+                    return;
+                }
+                // 复制被删除节点之前的部分，接到被删除节点的后继上
+                Node<Key, Value> rest = target.next;
+                for (Node<Key, Value> x = head; x != target; x = x.next) {
+                    rest = new Node<>(x.key, x.hash, x.val, rest);
+                }
+                t.setRelease(i, rest);
+                count--;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 将桶数组扩大一倍，持有锁时调用
+         *
+         * @param old 旧的桶数组
+         */
+        private void resize(AtomicReferenceArray<Node<Key, Value>> old) {
+            int cap = old.length() * 2;
+            AtomicReferenceArray<Node<Key, Value>> t = new AtomicReferenceArray<>(cap);
+            for (int i = 0; i < old.length(); i++) {
+                // 旧的节点保持不变，正在读取旧桶数组的线程不受影响
+                for (Node<Key, Value> x = old.get(i); x != null; x = x.next) {
+                    int j = x.hash & (cap - 1);
+                    t.set(j, new Node<>(x.key, x.hash, x.val, t.get(j)));
+                }
+            }
+            table = t;
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    public ConcurrentHashST() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param concurrency 预计同时进行写操作的线程数，向上取整到 2 的幂作为段数
+     */
+    public ConcurrentHashST(int concurrency) {
+        if (concurrency <= 0 || concurrency > 1 << 16) {
+            throw new IllegalArgumentException("concurrency is out of range: " + concurrency);
+        }
+        int count = 1;
+        while (count < concurrency) {
+            count <<= 1;
+        }
+        segments = (Segment<Key, Value>[]) new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>();
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * 哈希函数，混合 hashCode 的各位
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    private static int hash(Object key) {
+        return IntIntMap.mix(key.hashCode());
+    }
+
+    /**
+     * 键所在的段，使用哈希值的高位，桶使用低位
+     *
+     * @param h 哈希值
+     * @return 段
+     */
+    private Segment<Key, Value> segmentFor(int h) {
+        return segmentShift == 32 ? segments[0] : segments[h >>> segmentShift];
+    }
+
+    /**
+     * 获取散列表的大小
+     *
+     * @return 散列表的大小
+     */
+    public int size() {
+        int n = 0;
+        for (Segment<Key, Value> s : segments) {
+            n += s.count;
+        }
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 通过键查找相应的值，不加锁
+     *
+     * @param key 查找的键
+     * @return 查找到的值
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        int h = hash(key);
+        return segmentFor(h).get(key, h);
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * 添加新的键值对
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值，为 null 时删除该键
+     */
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        int h = hash(key);
+        segmentFor(h).put(key, h, val);
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        int h = hash(key);
+        segmentFor(h).delete(key, h);
+    }
+
+    /**
+     * 获取哈希表键的集合，不加锁，并发修改时结果只反映遍历过程中某个时刻的部分修改
+     *
+     * @return 键的集合
+     */
+    public Iterable<Key> keys() {
+        Queue<Key> queue = new Queue<>();
+        for (Segment<Key, Value> s : segments) {
+            AtomicReferenceArray<Node<Key, Value>> t = s.table;
+            for (int i = 0; i < t.length(); i++) {
+                for (Node<Key, Value> x = t.get(i); x != null; x = x.next) {
+                    queue.enqueue(x.key);
+                }
+            }
+        }
+        return queue;
+    }
+}
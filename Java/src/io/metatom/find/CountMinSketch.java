@@ -0,0 +1,204 @@
+package io.metatom.find;
+
+/**
+ * 估计键的出现次数的 Count-Min Sketch
+ * <p>
+ * 由 d 行、每行 w 个 long 计数器组成，每行用一个独立的哈希函数选择计数器。记录键时每一行对应的计数器加上次数，
+ * 估计时取 d 个计数器中的最小值。估计值不会小于真实的次数，并且以不低于 1 - delta 的概率
+ * 不超过真实的次数加上 epsilon * N，其中 N 为所有键的次数之和，w = ceil(e / epsilon)，d = ceil(ln(1 / delta))。
+ * 内存只与 epsilon 和 delta 有关，与键的数量无关。参数相同的两个 sketch 逐个计数器相加就能合并。
+ * <p>
+ * 与 {@link HyperLogLog} 相同，{@link #add(Object, long)} 只使用键的 32 位 hashCode
+ *
+ * @param <Key> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class CountMinSketch<Key> {
+    /**
+     * 行数
+     */
+    private final int depth;
+    /**
+     * 每行的计数器数量
+     */
+    private final int width;
+    /**
+     * 计数器，第 i 行占据 [i * width, (i + 1) * width)
+     */
+    private final long[] counts;
+    /**
+     * 所有键的次数之和
+     */
+    private long total;
+
+    /**
+     * 构造方法
+     *
+     * @param epsilon 误差相对于总次数的比例
+     * @param delta   估计值超出误差的概率
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be between 0 and 1: " + epsilon);
+        }
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("delta must be between 0 and 1: " + delta);
+        }
+        long w = (long) Math.ceil(Math.E / epsilon);
+        int d = (int) Math.ceil(Math.log(1 / delta));
+        if (w * d > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("count-min sketch too large: " + w + " x " + d);
+        }
+        width = (int) w;
+        depth = d;
+        counts = new long[width * depth];
+    }
+
+    /**
+     * 第 i 行中键对应的计数器
+     *
+     * @param hash 键的 64 位哈希值
+     * @param i    行
+     * @return 计数器在数组中的下标
+     */
+    private int index(long hash, int i) {
+        // 由高低 32 位组合出 d 个哈希函数（Kirsch-Mitzenmacher）
+        long h = (hash & 0xffffffffL) + i * ((hash >>> 32) | 1);
+        return i * width + (int) ((h & Long.MAX_VALUE) % width);
+    }
+
+    /**
+     * 记录键出现一次
+     *
+     * @param key 键
+     */
+    public void add(Key key) {
+        add(key, 1);
+    }
+
+    /**
+     * 记录键出现若干次
+     *
+     * @param key   键
+     * @param count 次数，不能为负数
+     */
+    public void add(Key key, long count) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to add() is null");
+        }
+        addHash(LongLongMap.mix64(key.hashCode()), count);
+    }
+
+    /**
+     * 根据键的 64 位哈希值记录键出现若干次
+     *
+     * @param hash  键的哈希值，各位应该分布均匀
+     * @param count 次数，不能为负数
+     */
+    public void addHash(long hash, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count is negative: " + count);
+        }
+        for (int i = 0; i < depth; i++) {
+            counts[index(hash, i)] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * 估计键出现的次数
+     *
+     * @param key 键
+     * @return 估计的次数，不小于真实的次数
+     */
+    public long estimate(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to estimate() is null");
+        }
+        return estimateHash(LongLongMap.mix64(key.hashCode()));
+    }
+
+    /**
+     * 根据键的 64 位哈希值估计键出现的次数
+     *
+     * @param hash 键的哈希值
+     * @return 估计的次数，不小于真实的次数
+     */
+    public long estimateHash(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, counts[index(hash, i)]);
+        }
+        return min;
+    }
+
+    /**
+     * 合并另一个参数相同的 sketch
+     *
+     * @param other 另一个 sketch
+     */
+    public void merge(CountMinSketch<Key> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("argument to merge() is null");
+        }
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("dimensions differ: " + width + " x " + depth
+                    + " and " + other.width + " x " + other.depth);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * 所有键的次数之和
+     *
+     * @return 次数之和
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * 估计值超出真实次数的上限 epsilon * N
+     *
+     * @return 误差的上限
+     */
+    public double errorBound() {
+        return Math.E / width * total;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        CountMinSketch<Integer> sketch = new CountMinSketch<>(0.0001, 0.01);
+        IntIntMap exact = new IntIntMap();
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < count; i++) {
+            // 近似 Zipf 分布的键
+            int key = (int) Math.floor(Math.pow(1000000, random.nextDouble()));
+            sketch.add(key);
+            exact.put(key, exact.get(key, 0) + 1);
+        }
+        // 每个键超出误差上限的概率不超过 delta，键很多时最大误差可能略高于上限
+        long maxError = 0;
+        int exceeded = 0;
+        for (int key : exact.keys()) {
+            long error = sketch.estimate(key) - exact.get(key, 0);
+            maxError = Math.max(maxError, error);
+            if (error > sketch.errorBound()) {
+                exceeded++;
+            }
+        }
+        System.out.printf("keys %d, estimate(1) = %d (exact %d), bound %.0f, max error %d, exceeded %.4f%%%n",
+                exact.size(), sketch.estimate(1), exact.get(1, 0), sketch.errorBound(), maxError,
+                100.0 * exceeded / exact.size());
+    }
+}
@@ -0,0 +1,343 @@
+package io.metatom.find;
+
+/**
+ * 布谷鸟过滤器
+ * <p>
+ * 与 {@link CuckooHashST} 相同，由若干个有 {@value #SLOTS} 个位置的桶组成，但每个位置只存放键的 f 位指纹，
+ * 指纹按位紧密地存放在 long 数组中。键的两个候选桶为 i1 = hash & mask 和 i2 = i1 ^ hash(指纹) & mask，
+ * 只根据桶的编号和指纹就能算出另一个候选桶，因此踢出指纹时不需要原来的键（partial-key cuckoo hashing）。
+ * 检查时只看两个桶中是否有相同的指纹，误报率约为 2 * {@value #SLOTS} / 2^f。
+ * 与布隆过滤器不同，可以删除加入过的键。踢出次数超过上限时最后一个被踢出的指纹放入备用位置，
+ * 备用位置被占用后过滤器视为已满，不再接受新的键
+ *
+ * @param <Key> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class CuckooFilter<Key> implements Filter<Key> {
+    /**
+     * 每个桶的位置数
+     */
+    private static final int SLOTS = 4;
+    /**
+     * 一次插入最多踢出的次数
+     */
+    private static final int MAX_KICKS = 500;
+    /**
+     * 预计的装载因子，用于确定桶数
+     */
+    private static final double LOAD_FACTOR = 0.95;
+    /**
+     * 指纹，每个占 fingerprintBits 位，位置 s 的指纹从第 s * fingerprintBits 位开始
+     */
+    private final long[] table;
+    /**
+     * 指纹的位数
+     */
+    private final int fingerprintBits;
+    /**
+     * 桶数减 1
+     */
+    private final int mask;
+    /**
+     * 加入的键的数量
+     */
+    private long n;
+    /**
+     * 备用位置中的指纹，0 表示空
+     */
+    private int victimFingerprint;
+    /**
+     * 备用位置中的指纹所在的一个候选桶
+     */
+    private int victimBucket;
+    /**
+     * 选择踢出位置的伪随机数状态
+     */
+    private int seed = 0x2545f491;
+
+    /**
+     * 构造方法
+     *
+     * @param expected          预计加入的键的数量
+     * @param falsePositiveRate 目标误报率
+     */
+    public CuckooFilter(long expected, double falsePositiveRate) {
+        if (expected <= 0) {
+            throw new IllegalArgumentException("expected number of keys must be positive: " + expected);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        // 2 * SLOTS / 2^f <= falsePositiveRate
+        fingerprintBits = Math.max(4, (int) Math.ceil(Math.log(2.0 * SLOTS / falsePositiveRate) / Math.log(2)));
+        if (fingerprintBits > 32) {
+            throw new IllegalArgumentException("false positive rate too small: " + falsePositiveRate);
+        }
+        long buckets = Math.max(1, (long) Math.ceil(expected / (SLOTS * LOAD_FACTOR)));
+        if (buckets > 1 << 30) {
+            throw new IllegalArgumentException("cuckoo filter too large: " + expected + " keys");
+        }
+        int b = Integer.highestOneBit((int) Math.max(2, buckets) - 1) << 1;
+        long totalBits = (long) b * SLOTS * fingerprintBits;
+        if (totalBits > (long) Integer.MAX_VALUE * Long.SIZE) {
+            throw new IllegalArgumentException("cuckoo filter too large: " + expected + " keys");
+        }
+        table = new long[(int) ((totalBits + 63) >>> 6)];
+        mask = b - 1;
+    }
+
+    /**
+     * 读取位置上的指纹
+     *
+     * @param slot 位置
+     * @return 指纹，0 表示空位置
+     */
+    private int get(long slot) {
+        long bit = slot * fingerprintBits;
+        int w = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = table[w] >>> offset;
+        if (offset + fingerprintBits > 64) {
+            value |= table[w + 1] << (64 - offset);
+        }
+        return (int) (value & ((1L << fingerprintBits) - 1));
+    }
+
+    /**
+     * 写入位置上的指纹
+     *
+     * @param slot        位置
+     * @param fingerprint 指纹，0 表示清空
+     */
+    private void set(long slot, int fingerprint) {
+        long bit = slot * fingerprintBits;
+        int w = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long fieldMask = (1L << fingerprintBits) - 1;
+        long value = fingerprint & fieldMask;
+        table[w] = table[w] & ~(fieldMask << offset) | value << offset;
+        if (offset + fingerprintBits > 64) {
+            int shift = 64 - offset;
+            table[w + 1] = table[w + 1] & ~(fieldMask >>> shift) | value >>> shift;
+        }
+    }
+
+    /**
+     * 键的指纹，不为 0
+     *
+     * @param key 键
+     * @return 指纹
+     */
+    private int fingerprint(Object key) {
+        int f = (int) ((LongLongMap.mix(key.hashCode() ^ 0x9e3779b97f4a7c15L) & 0xffffffffL)
+                % ((1L << fingerprintBits) - 1));
+        return f + 1;
+    }
+
+    /**
+     * 键的第一个候选桶
+     *
+     * @param key 键
+     * @return 桶的编号
+     */
+    private int bucket(Object key) {
+        return IntIntMap.mix(key.hashCode()) & mask;
+    }
+
+    /**
+     * 另一个候选桶，对两个候选桶中的任何一个计算都得到另一个
+     *
+     * @param bucket      一个候选桶
+     * @param fingerprint 指纹
+     * @return 另一个候选桶
+     */
+    private int alternate(int bucket, int fingerprint) {
+        return (bucket ^ IntIntMap.mix(fingerprint)) & mask;
+    }
+
+    /**
+     * 在桶的空位置写入指纹
+     *
+     * @param bucket      桶
+     * @param fingerprint 指纹
+     * @return {@code true} 写入成功
+     * {@code false} 桶已满
+     */
+    private boolean insertInto(int bucket, int fingerprint) {
+        for (long s = (long) bucket * SLOTS, end = s + SLOTS; s < end; s++) {
+            if (get(s) == 0) {
+                set(s, fingerprint);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 桶中是否有指纹
+     *
+     * @param bucket      桶
+     * @param fingerprint 指纹
+     * @return 指纹所在的位置，不存在时为 -1
+     */
+    private long find(int bucket, int fingerprint) {
+        for (long s = (long) bucket * SLOTS, end = s + SLOTS; s < end; s++) {
+            if (get(s) == fingerprint) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean add(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to add() is null");
+        }
+        if (victimFingerprint != 0) {
+            return false;
+        }
+        int f = fingerprint(key);
+        int i = bucket(key);
+        if (insertInto(i, f) || insertInto(alternate(i, f), f)) {
+            n++;
+            return true;
+        }
+        // 随机踢出一个指纹，转到它的另一个候选桶
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            long s = (long) i * SLOTS + (seed >>> 30);
+            int evicted = get(s);
+            set(s, f);
+            f = evicted;
+            i = alternate(i, f);
+            if (insertInto(i, f)) {
+                n++;
+                return true;
+            }
+        }
+        // 键本身已经放入表中，最后一个被踢出的指纹放入备用位置，保证没有漏报
+        victimFingerprint = f;
+        victimBucket = i;
+        n++;
+        return true;
+    }
+
+    @Override
+    public boolean mightContain(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to mightContain() is null");
+        }
+        int f = fingerprint(key);
+        int i1 = bucket(key);
+        int i2 = alternate(i1, f);
+        return find(i1, f) >= 0 || find(i2, f) >= 0
+                || victimFingerprint == f && (victimBucket == i1 || victimBucket == i2);
+    }
+
+    @Override
+    public boolean remove(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to remove() is null");
+        }
+        int f = fingerprint(key);
+        int i1 = bucket(key);
+        int i2 = alternate(i1, f);
+        long s = find(i1, f);
+        if (s < 0) {
+            s = find(i2, f);
+        }
+        if (s >= 0) {
+            set(s, 0);
+        } else if (victimFingerprint == f && (victimBucket == i1 || victimBucket == i2)) {
+            victimFingerprint = 0;
+            n--;
+            return true;
+        } else {
+            return false;
+        }
+        n--;
+        // 腾出了位置，尝试把备用位置中的指纹放回表中
+        if (victimFingerprint != 0) {
+            int f2 = victimFingerprint;
+            int b = victimBucket;
+            if (insertInto(b, f2) || insertInto(alternate(b, f2), f2)) {
+                victimFingerprint = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 加入的键的数量
+     *
+     * @return 键的数量
+     */
+    public long size() {
+        return n;
+    }
+
+    /**
+     * 指纹的位数
+     *
+     * @return 指纹的位数
+     */
+    public int fingerprintBits() {
+        return fingerprintBits;
+    }
+
+    /**
+     * 单元测试，在滑动窗口中删除离开窗口的键，与无法删除的 {@link BloomFilter} 比较误报率
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int window = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        CuckooFilter<Integer> cuckoo = new CuckooFilter<>(window, 0.01);
+        BloomFilter<Integer> bloom = new BloomFilter<>(window, 0.01);
+        int rejected = 0;
+        for (int i = 0; i < 10 * window; i++) {
+            if (!cuckoo.add(i)) {
+                rejected++;
+            }
+            bloom.add(i);
+            if (i >= window) {
+                // 离开窗口的键，BloomFilter 只能一直保留
+                cuckoo.remove(i - window);
+            }
+            if ((i + 1) % (2 * window) == 0) {
+                int cuckooFalse = 0;
+                int bloomFalse = 0;
+                for (int k = -1; k >= -window; k--) {
+                    if (cuckoo.mightContain(k)) {
+                        cuckooFalse++;
+                    }
+                    if (bloom.mightContain(k)) {
+                        bloomFalse++;
+                    }
+                }
+                System.out.printf("%8d keys seen: CuckooFilter %.4f, BloomFilter %.4f false positive rate%n",
+                        i + 1, (double) cuckooFalse / window, (double) bloomFalse / window);
+            }
+        }
+        int missing = 0;
+        for (int i = 9 * window; i < 10 * window; i++) {
+            if (!cuckoo.mightContain(i)) {
+                missing++;
+            }
+        }
+        System.out.printf("fingerprint bits = %d, size = %d, rejected = %d, keys in window missing = %d%n",
+                cuckoo.fingerprintBits(), cuckoo.size(), rejected, missing);
+
+        // 同一个键可以加入多次，删除一次后仍然存在
+        CuckooFilter<String> multiset = new CuckooFilter<>(16, 0.01);
+        multiset.add("key");
+        multiset.add("key");
+        multiset.remove("key");
+        System.out.println("added twice, removed once: mightContain = " + multiset.mightContain("key"));
+    }
+}
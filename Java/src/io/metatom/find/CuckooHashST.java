@@ -0,0 +1,425 @@
+package io.metatom.find;
+
+import io.metatom.base.Queue;
+
+/**
+ * 基于布谷鸟散列（cuckoo hashing）的散列表
+ * <p>
+ * 散列表由若干个桶组成，每个桶有 {@value #SLOTS} 个位置。每个键由两个独立的哈希函数确定两个候选桶，
+ * 只会存放在这两个桶中的某一个位置上，因此溢出链表为空时查找和删除最多检查 2 * {@value #SLOTS} 个位置。
+ * 插入时如果两个候选桶都满了，就随机踢出其中一个键，把它移到它的另一个候选桶，如此反复，
+ * 踢出的次数超过 {@value #MAX_KICKS} 次时扩容。每个桶有 4 个位置时装载因子可以达到 90% 以上。
+ * 每个位置缓存键的哈希值，移动键时不需要重新调用 hashCode。
+ * hashCode 相同的键总是落在同样的两个桶中，超过 2 * {@value #SLOTS} 个时扩容也无法安置，
+ * 因此踢出失败而装载因子不高，或者一次插入中已经扩容过 {@value #MAX_RESIZES} 次时，
+ * 把无处安置的键放入溢出链表（stash），查找和删除在两个候选桶中都没有找到键且溢出链表不为空时才检查溢出链表。
+ * 溢出链表是顺序查找的，所有的候选桶都由 hashCode 决定，换用其他的哈希函数也无法分开 hashCode 相同的键，
+ * 因此最坏情况下 get、put 和 delete 的耗时为 O(溢出链表的长度)；hashCode 分布均匀时溢出链表几乎总是为空
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.2
+ * @since 2026-10-19
+ */
+@SuppressWarnings("unused")
+public class CuckooHashST<Key, Value> implements SymbolTable<Key, Value> {
+    /**
+     * 每个桶的位置数
+     */
+    private static final int SLOTS = 4;
+    /**
+     * 默认初始化的桶数
+     */
+    private static final int INIT_BUCKETS = 4;
+    /**
+     * 一次插入最多踢出的次数
+     */
+    private static final int MAX_KICKS = 500;
+    /**
+     * 装载因子的上限，超过时直接扩容
+     */
+    private static final double MAX_LOAD_FACTOR = 0.9;
+    /**
+     * 踢出失败时允许扩容的装载因子下限，低于该值说明是哈希值冲突而不是空间不足
+     */
+    private static final double MIN_RESIZE_LOAD_FACTOR = 0.5;
+    /**
+     * 一次插入最多扩容的次数
+     */
+    private static final int MAX_RESIZES = 2;
+    /**
+     * 键值对的数量
+     */
+    private int n;
+    /**
+     * 桶数减 1
+     */
+    private int mask;
+    /**
+     * 存放键的数组，桶 b 占据 [b * SLOTS, (b + 1) * SLOTS)
+     */
+    private Key[] keys;
+    /**
+     * 存放值的数组
+     */
+    private Value[] vals;
+    /**
+     * 每个位置上的键的哈希值
+     */
+    private int[] hashes;
+    /**
+     * 溢出链表，存放两个候选桶中都无法安置的键
+     */
+    private SequentialSearchST<Key, Value> stash = new SequentialSearchST<>();
+    /**
+     * 选择踢出位置的伪随机数状态
+     */
+    private int seed = 0x2545f491;
+
+    /**
+     * 构造方法
+     */
+    public CuckooHashST() {
+        this(INIT_BUCKETS * SLOTS);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param cap 散列表初始化的位置数，向上取整到 {@value #SLOTS} 乘以 2 的幂
+     */
+    public CuckooHashST(int cap) {
+        if (cap < 0 || cap > 1 << 30) {
+            throw new IllegalArgumentException("capacity is out of range: " + cap);
+        }
+        int buckets = Math.max(2, (cap + SLOTS - 1) / SLOTS);
+        allocate(Integer.highestOneBit(buckets - 1) << 1);
+    }
+
+    /**
+     * 分配指定桶数的数组
+     *
+     * @param buckets 桶数，2 的幂
+     */
+    private void allocate(int buckets) {
+        keys = (Key[]) new Object[buckets * SLOTS];
+        vals = (Value[]) new Object[buckets * SLOTS];
+        hashes = new int[buckets * SLOTS];
+        mask = buckets - 1;
+    }
+
+    /**
+     * 获取散列表的大小
+     *
+     * @return 散列表的大小
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 哈希函数，混合 hashCode 的各位
+     *
+     * @param key 键值对的键
+     * @return 哈希值
+     */
+    private static int hash(Object key) {
+        return IntIntMap.mix(key.hashCode());
+    }
+
+    /**
+     * 第一个候选桶，使用哈希值的低位
+     *
+     * @param h 哈希值
+     * @return 桶的编号
+     */
+    private int bucket1(int h) {
+        return h & mask;
+    }
+
+    /**
+     * 第二个候选桶，对哈希值再做一次混合，与第一个候选桶相互独立
+     *
+     * @param h 哈希值
+     * @return 桶的编号
+     */
+    private int bucket2(int h) {
+        return IntIntMap.mix(h ^ 0x9e3779b9) & mask;
+    }
+
+    /**
+     * 在桶中查找键
+     *
+     * @param b   桶的编号
+     * @param key 键
+     * @param h   键的哈希值
+     * @return 键所在的位置，不存在时为 -1
+     */
+    private int find(int b, Object key, int h) {
+        for (int i = b * SLOTS, end = i + SLOTS; i < end; i++) {
+            if (hashes[i] == h && keys[i] != null && key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 查找键所在的位置，最多检查两个桶
+     *
+     * @param key 键
+     * @return 键所在的位置，不存在时为 -1
+     */
+    private int indexOf(Object key) {
+        int h = hash(key);
+        int i = find(bucket1(h), key, h);
+        return i >= 0 ? i : find(bucket2(h), key, h);
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            return vals[i];
+        }
+        return stash.isEmpty() ? null : stash.get(key);
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return indexOf(key) >= 0 || !stash.isEmpty() && stash.contains(key);
+    }
+
+    /**
+     * 添加新的键值对
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            vals[i] = val;
+            return;
+        }
+        if (!stash.isEmpty() && stash.contains(key)) {
+            stash.put(key, val);
+            return;
+        }
+        if (n >= keys.length * MAX_LOAD_FACTOR) {
+            resize(2 * (mask + 1));
+        }
+        insert(key, val, hash(key), true);
+        n++;
+    }
+
+    /**
+     * 桶中的空位置
+     *
+     * @param b 桶的编号
+     * @return 空位置，桶已满时为 -1
+     */
+    private int emptySlot(int b) {
+        for (int i = b * SLOTS, end = i + SLOTS; i < end; i++) {
+            if (keys[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 插入不存在的键，两个候选桶都满时踢出已有的键，踢出次数过多时扩容后继续插入被踢出的键，
+     * 不允许扩容时把最后被踢出的键放入溢出链表
+     *
+     * @param key       键
+     * @param val       值
+     * @param h         键的哈希值
+     * @param mayResize 是否允许扩容
+     */
+    private void insert(Key key, Value val, int h, boolean mayResize) {
+        for (int resizes = 0; ; resizes++) {
+            int b = bucket1(h);
+            for (int kick = 0; kick < MAX_KICKS; kick++) {
+                int i = emptySlot(b);
+                if (i < 0) {
+                    int other = b == bucket1(h) ? bucket2(h) : bucket1(h);
+                    i = emptySlot(other);
+                }
+                if (i >= 0) {
+                    keys[i] = key;
+                    vals[i] = val;
+                    hashes[i] = h;
+                    return;
+                }
+                // 随机踢出当前桶中的一个键，被踢出的键转到它的另一个候选桶
+                seed ^= seed << 13;
+                seed ^= seed >>> 17;
+                seed ^= seed << 5;
+                i = b * SLOTS + (seed >>> 30);
+                Key k = keys[i];
+                Value v = vals[i];
+                int eh = hashes[i];
+                keys[i] = key;
+                vals[i] = val;
+                hashes[i] = h;
+                key = k;
+                val = v;
+                h = eh;
+                b = b == bucket1(h) ? bucket2(h) : bucket1(h);
+            }
+            if (!mayResize || resizes == MAX_RESIZES || n < keys.length * MIN_RESIZE_LOAD_FACTOR) {
+                stash.put(key, val);
+                return;
+            }
+            resize(2 * (mask + 1));
+        }
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            keys[i] = null;
+            vals[i] = null;
+            hashes[i] = 0;
+        } else if (!stash.isEmpty() && stash.contains(key)) {
+            stash.delete(key);
+        } else {
+            return;
+        }
+        n--;
+        if (mask + 1 > INIT_BUCKETS && n <= keys.length / 8) {
+            resize((mask + 1) / 2);
+        }
+    }
+
+    /**
+     * 改变散列表的大小，溢出链表中的键也重新尝试插入，仍然无法安置的键留在溢出链表中
+     *
+     * @param buckets 新的桶数，2 的幂
+     */
+    private void resize(int buckets) {
+        Key[] oldKeys = keys;
+        Value[] oldVals = vals;
+        int[] oldHashes = hashes;
+        SequentialSearchST<Key, Value> oldStash = stash;
+        allocate(buckets);
+        stash = new SequentialSearchST<>();
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldVals[i], oldHashes[i], false);
+            }
+        }
+        for (Key key : oldStash.keys()) {
+            insert(key, oldStash.get(key), hash(key), false);
+        }
+    }
+
+    /**
+     * 获取哈希表键的集合
+     *
+     * @return 键的集合
+     */
+    public Iterable<Key> keys() {
+        Queue<Key> queue = new Queue<>();
+        for (Key key : keys) {
+            if (key != null) {
+                queue.enqueue(key);
+            }
+        }
+        for (Key key : stash.keys()) {
+            queue.enqueue(key);
+        }
+        return queue;
+    }
+
+    /**
+     * 位置的总数
+     *
+     * @return 位置数
+     */
+    private int slots() {
+        return hashes.length;
+    }
+
+    /**
+     * 单元测试，观察扩容前达到的装载因子，以及 hashCode 相同的键进入溢出链表
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        CuckooHashST<Integer, Integer> st = new CuckooHashST<>();
+        double maxLoad = 0;
+        int resizes = 0;
+        for (int i = 0; i < count; i++) {
+            int slots = st.slots();
+            st.put(i, i);
+            if (st.slots() != slots) {
+                // 扩容之前刚好容纳的键值对数量
+                maxLoad = Math.max(maxLoad, (double) i / slots);
+                resizes++;
+            }
+        }
+        System.out.printf("%d keys, %d resizes, highest load before a resize %.3f, final load %.3f, stash %d%n",
+                st.size(), resizes, maxLoad, (double) st.size() / st.slots(), st.stash.size());
+
+        String[] strings = HashBenchmark.collidingStrings(64);
+        CuckooHashST<String, Integer> colliding = new CuckooHashST<>();
+        for (int i = 0; i < strings.length; i++) {
+            colliding.put(strings[i], i);
+        }
+        int found = 0;
+        for (int i = 0; i < strings.length; i++) {
+            Integer val = colliding.get(strings[i]);
+            if (val != null && val == i) {
+                found++;
+            }
+        }
+        System.out.printf("%d keys with the same hashCode: %d buckets, %d in the stash, %d found%n",
+                strings.length, colliding.mask + 1, colliding.stash.size(), found);
+    }
+}
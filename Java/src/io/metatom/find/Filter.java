@@ -0,0 +1,43 @@
+package io.metatom.find;
+
+/**
+ * 近似的集合成员过滤器
+ * <p>
+ * 对于加入过的键 {@link #mightContain} 总是返回 {@code true}，对于没有加入过的键以一定的概率误报为 {@code true}，
+ * 因此返回 {@code false} 时可以确定键不存在，不需要再查询背后的符号表
+ *
+ * @param <Key> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface Filter<Key> {
+    /**
+     * 加入键
+     *
+     * @param key 键
+     * @return {@code true} 加入成功
+     * {@code false} 过滤器已满，键没有加入
+     */
+    boolean add(Key key);
+
+    /**
+     * 检查键是否可能存在
+     *
+     * @param key 键
+     * @return {@code true} 键可能存在
+     * {@code false} 键一定不存在
+     */
+    boolean mightContain(Key key);
+
+    /**
+     * 删除加入过的键，只能对确定加入过的键调用，否则可能删除其他键的记录
+     *
+     * @param key 键
+     * @return {@code true} 删除成功
+     * {@code false} 不支持删除或者没有找到
+     */
+    default boolean remove(Key key) {
+        return false;
+    }
+}
@@ -0,0 +1,179 @@
+package io.metatom.find;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 在符号表前面加一层过滤器的包装类
+ * <p>
+ * 大部分查找都不命中，而背后的符号表（例如存放在磁盘上的）查找代价很高时，先询问内存中的 {@link Filter}，
+ * 过滤器确定键不存在时直接返回 null，不访问背后的符号表。写操作同时更新过滤器和符号表。
+ * 过滤器不支持删除（{@link BloomFilter}）时，删除的键仍然会被误报，只是多一次对符号表的查找；
+ * 过滤器已满、不再接受新的键时，之后的查找全部交给符号表，结果仍然正确
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class FilteredST<Key, Value> implements SymbolTable<Key, Value> {
+    /**
+     * 背后的符号表
+     */
+    private final SymbolTable<Key, Value> st;
+    /**
+     * 过滤器
+     */
+    private final Filter<Key> filter;
+    /**
+     * 过滤器是否包含了符号表中所有的键
+     */
+    private boolean complete = true;
+    /**
+     * 被过滤器直接拒绝的查找次数
+     */
+    private long skipped;
+
+    /**
+     * 构造方法，将符号表中已有的键加入过滤器
+     *
+     * @param st     背后的符号表
+     * @param filter 过滤器
+     */
+    public FilteredST(SymbolTable<Key, Value> st, Filter<Key> filter) {
+        if (st == null || filter == null) {
+            throw new IllegalArgumentException("argument to FilteredST() is null");
+        }
+        this.st = st;
+        this.filter = filter;
+        for (Key key : st.keys()) {
+            add(key);
+        }
+    }
+
+    /**
+     * 将键加入过滤器，过滤器已满时不再使用过滤器
+     *
+     * @param key 键
+     */
+    private void add(Key key) {
+        if (complete && !filter.add(key)) {
+            complete = false;
+        }
+    }
+
+    /**
+     * 过滤器是否可以确定键不存在
+     *
+     * @param key 键
+     * @return {@code true} 键一定不存在
+     */
+    private boolean absent(Key key) {
+        if (complete && !filter.mightContain(key)) {
+            skipped++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        return absent(key) ? null : st.get(key);
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return !absent(key) && st.contains(key);
+    }
+
+    @Override
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        // 已经存在的键不重复加入，否则支持删除的过滤器中会有多余的记录
+        if (!contains(key)) {
+            add(key);
+        }
+        st.put(key, val);
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        if (contains(key)) {
+            st.delete(key);
+            filter.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return st.size();
+    }
+
+    @Override
+    public Iterable<Key> keys() {
+        return st.keys();
+    }
+
+    /**
+     * 被过滤器直接拒绝的查找次数
+     *
+     * @return 查找次数
+     */
+    public long skipped() {
+        return skipped;
+    }
+
+    /**
+     * 单元测试，比较不命中的查找在有无过滤器时的耗时
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        RedBlackBST<Integer, Integer> bst = new RedBlackBST<>();
+        for (int i = 0; i < count; i++) {
+            bst.put(i * 2, i);
+        }
+        List<SymbolTable<Integer, Integer>> tables = List.of(
+                bst,
+                new FilteredST<>(bst, new BloomFilter<>(count, 0.01)),
+                new FilteredST<>(bst, new CuckooFilter<>(count, 0.01)));
+        String[] names = {"RedBlackBST", "with BloomFilter", "with CuckooFilter"};
+        // 随机的查找，90% 不命中
+        Random random = new Random(42);
+        int[] queries = new int[2 * count];
+        for (int i = 0; i < queries.length; i++) {
+            int key = random.nextInt(count) * 2;
+            queries[i] = random.nextInt(10) == 0 ? key : key | 1;
+        }
+        for (int round = 0; round < 2; round++) {
+            for (int t = 0; t < tables.size(); t++) {
+                long start = System.nanoTime();
+                int found = 0;
+                for (int key : queries) {
+                    if (tables.get(t).get(key) != null) {
+                        found++;
+                    }
+                }
+                System.out.printf("%-18s %6.1f ns/get   (%d found)%n", names[t],
+                        (System.nanoTime() - start) / (double) queries.length, found);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.metatom.find;
+
+/**
+ * 估计键的访问频率的 Count-Min Sketch
+ * <p>
+ * 每个计数器只有 4 位，16 个计数器放在一个 long 中。每个键由 4 个哈希函数选出 4 个计数器，
+ * 访问时把其中小于 15 的计数器加 1，估计值为 4 个计数器中的最小值。
+ * 累计的访问次数达到缓存容量的 10 倍时把所有计数器减半，使估计值反映最近的访问频率（老化）
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class FrequencySketch {
+    /**
+     * 4 个哈希函数使用的种子
+     */
+    private static final int[] SEEDS = {0x97cb3127, 0x2f8e1d35, 0x5bd1e995, 0xc2b2ae35};
+    /**
+     * 计数器的最大值
+     */
+    private static final int MAX_COUNT = 15;
+    /**
+     * 每个计数器去掉最高位后的掩码，用于减半
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+    /**
+     * 计数器
+     */
+    private final long[] table;
+    /**
+     * long 数组的大小减 1
+     */
+    private final int mask;
+    /**
+     * 两次减半之间累计的访问次数上限
+     */
+    private final int sampleSize;
+    /**
+     * 上一次减半之后累计的访问次数
+     */
+    private int additions;
+
+    /**
+     * 构造方法
+     *
+     * @param capacity 缓存的容量
+     */
+    FrequencySketch(int capacity) {
+        // 每个键平均约 4 个计数器
+        int words = Math.max(8, Integer.highestOneBit(Math.max(1, capacity / 4 - 1)) << 1);
+        table = new long[words];
+        mask = words - 1;
+        sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * capacity);
+    }
+
+    /**
+     * 第 i 个哈希函数选出的计数器
+     *
+     * @param h 键的哈希值
+     * @param i 哈希函数的序号
+     * @return 计数器在整个表中的序号，高位为 long 的下标，低 4 位为 long 中的计数器
+     */
+    private int counter(int h, int i) {
+        int x = IntIntMap.mix(h ^ SEEDS[i]);
+        return ((x >>> 4) & mask) << 4 | (x & 15);
+    }
+
+    /**
+     * 读取计数器
+     *
+     * @param c 计数器的序号
+     * @return 计数器的值
+     */
+    private int get(int c) {
+        return (int) (table[c >>> 4] >>> ((c & 15) << 2)) & MAX_COUNT;
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param key 访问的键
+     */
+    void increment(Object key) {
+        int h = key.hashCode();
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int c = counter(h, i);
+            if (get(c) < MAX_COUNT) {
+                table[c >>> 4] += 1L << ((c & 15) << 2);
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 估计访问频率
+     *
+     * @param key 键
+     * @return 估计的访问次数，不超过 15
+     */
+    int frequency(Object key) {
+        int h = key.hashCode();
+        int min = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            min = Math.min(min, get(counter(h, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有的计数器减半
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+}
@@ -0,0 +1,337 @@
+package io.metatom.find;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 散列表查找延迟的基准测试
+ * <p>
+ * 将 {@link RobinHoodHashST} 固定在同一个大小下，分别填充到 0.5 到 0.9 的装载因子，
+ * 逐次计时一半命中、一半未命中的随机查找，输出延迟的中位数和 99 分位数。
+ * {@link LinearProbingHashST} 的装载因子固定不超过 1/2，只作为基准测试一次。
+ * 每次计时都包含一次 System.nanoTime 的开销，结果仅供横向比较。
+ * 使用参数 compare 运行时改为在相同的键上比较各种散列表，同时输出不逐次计时的平均每次查找耗时；
+ * 使用参数 bulk 运行时比较 {@link LinearProbingHashST} 逐个插入与批量构造、逐个查找与批量查找的耗时；
+ * 使用参数 probes 运行时在几组低熵和构造冲突的键上比较 {@link Hashers} 中各个哈希函数下
+ * {@link LinearProbingHashST} 的探测长度分布
+ *
+ * @author igaozp
+ * @version 1.3
+ * @since 2026-10-19
+ */
+public class HashBenchmark {
+    /**
+     * 散列表的大小
+     */
+    private static final int CAPACITY = 1 << 20;
+    /**
+     * 查找的次数
+     */
+    private static final int LOOKUPS = 1 << 20;
+    /**
+     * 测试的装载因子
+     */
+    private static final double[] LOAD_FACTORS = {0.5, 0.6, 0.7, 0.8, 0.9};
+
+    /**
+     * 查找操作
+     */
+    private interface Lookup {
+        Object get(Integer key);
+    }
+
+    /**
+     * 生成不重复的随机键
+     *
+     * @param random 随机数生成器
+     * @param count  键的数量
+     * @return 键
+     */
+    private static Integer[] distinctKeys(Random random, int count) {
+        IntIntMap seen = new IntIntMap(count);
+        Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; ) {
+            int key = random.nextInt();
+            if (!seen.contains(key)) {
+                seen.put(key, i);
+                keys[i++] = key;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 计时查找并输出延迟分布
+     *
+     * @param name    测试的名称
+     * @param lookup  查找操作
+     * @param queries 查找的键
+     */
+    private static void measure(String name, Lookup lookup, Integer[] queries) {
+        long[] latency = new long[queries.length];
+        long found = 0;
+        // 预热
+        for (Integer key : queries) {
+            if (lookup.get(key) != null) {
+                found++;
+            }
+        }
+        for (int i = 0; i < queries.length; i++) {
+            long start = System.nanoTime();
+            Object val = lookup.get(queries[i]);
+            latency[i] = System.nanoTime() - start;
+            if (val != null) {
+                found++;
+            }
+        }
+        Arrays.sort(latency);
+        System.out.printf("%-28s p50 %5d ns   p99 %5d ns   (%d hits)%n", name,
+                latency[latency.length / 2], latency[(int) (latency.length * 0.99)], found / 2);
+    }
+
+    /**
+     * 连续执行所有的查找，输出平均每次查找的耗时
+     *
+     * @param name    测试的名称
+     * @param lookup  查找操作
+     * @param queries 查找的键
+     */
+    private static void throughput(String name, Lookup lookup, Integer[] queries) {
+        long found = 0;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (Integer key : queries) {
+                if (lookup.get(key) != null) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %6.1f ns/op   (%d hits)%n", name, (double) best / queries.length, found / 5);
+    }
+
+    /**
+     * 在相同的键上比较各种散列表的查找延迟
+     *
+     * @param random 随机数生成器
+     * @param keys   插入的键
+     * @param absent 未插入的键
+     */
+    private static void compare(Random random, Integer[] keys, Integer[] absent) {
+        int count = CAPACITY * 3 / 4;
+        Integer[] queries = queries(random, keys, count, absent);
+        LinearProbingHashST<Integer, Integer> linear = new LinearProbingHashST<>();
+        RobinHoodHashST<Integer, Integer> robinHood = new RobinHoodHashST<>();
+        CuckooHashST<Integer, Integer> cuckoo = new CuckooHashST<>();
+        SwissTableST<Integer, Integer> swiss = new SwissTableST<>();
+        for (int i = 0; i < count; i++) {
+            linear.put(keys[i], i);
+            robinHood.put(keys[i], i);
+            cuckoo.put(keys[i], i);
+            swiss.put(keys[i], i);
+        }
+        String[] names = {"LinearProbingHashST", "RobinHoodHashST", "CuckooHashST", "SwissTableST"};
+        Lookup[] lookups = {linear::get, robinHood::get, cuckoo::get, swiss::get};
+        for (int i = 0; i < names.length; i++) {
+            measure(names[i], lookups[i], queries);
+            throughput(names[i], lookups[i], queries);
+        }
+    }
+
+    /**
+     * 比较逐个插入与批量构造、逐个查找与批量查找的耗时
+     *
+     * @param random 随机数生成器
+     * @param keys   插入的键
+     * @param absent 未插入的键
+     */
+    private static void bulk(Random random, Integer[] keys, Integer[] absent) {
+        int count = CAPACITY * 3 / 4;
+        Integer[] present = Arrays.copyOf(keys, count);
+        Integer[] values = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        Integer[] queries = queries(random, keys, count, absent);
+        Integer[] out = new Integer[queries.length];
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            LinearProbingHashST<Integer, Integer> st = new LinearProbingHashST<>();
+            for (int i = 0; i < count; i++) {
+                st.put(present[i], values[i]);
+            }
+            long put = System.nanoTime() - start;
+            start = System.nanoTime();
+            LinearProbingHashST<Integer, Integer> loaded = new LinearProbingHashST<>(present, values);
+            long load = System.nanoTime() - start;
+            start = System.nanoTime();
+            LinearProbingHashST<Integer, Integer> parallel = new LinearProbingHashST<>(present, values, true);
+            long parallelLoad = System.nanoTime() - start;
+            System.out.printf("put %4d ms   bulk %4d ms   parallel bulk %4d ms   (size %d, %d, %d)%n",
+                    put / 1000000, load / 1000000, parallelLoad / 1000000, st.size(), loaded.size(), parallel.size());
+
+            // 逐个查找时同样把结果写入数组，与批量查找的工作量相同
+            start = System.nanoTime();
+            for (int i = 0; i < queries.length; i++) {
+                out[i] = loaded.get(queries[i]);
+            }
+            long get = System.nanoTime() - start;
+            long found = 0;
+            for (Integer val : out) {
+                if (val != null) {
+                    found++;
+                }
+            }
+            start = System.nanoTime();
+            loaded.getAll(queries, out);
+            long getAll = System.nanoTime() - start;
+            for (Integer val : out) {
+                if (val != null) {
+                    found--;
+                }
+            }
+            System.out.printf("get %6.1f ns/op   getAll %6.1f ns/op   (hit difference %d)%n",
+                    (double) get / queries.length, (double) getAll / queries.length, found);
+        }
+    }
+
+    /**
+     * 生成 hashCode 全部相同的字符串：每一位选择 "Aa" 或者 "BB"，两者的 hashCode 相同
+     *
+     * @param count 字符串的数量
+     * @return 字符串
+     */
+    static String[] collidingStrings(int count) {
+        int blocks = Math.max(1, 32 - Integer.numberOfLeadingZeros(count - 1));
+        String[] keys = new String[count];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.setLength(0);
+            for (int b = 0; b < blocks; b++) {
+                sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+
+    /**
+     * 输出探测长度的平均值、99 分位数和最大值
+     *
+     * @param lengths 探测长度
+     * @return 格式化的分布
+     */
+    private static String distribution(int[] lengths) {
+        long sum = 0;
+        for (int length : lengths) {
+            sum += length;
+        }
+        Arrays.sort(lengths);
+        return String.format("mean %8.2f  p99 %6d  max %6d", (double) sum / lengths.length,
+                lengths[(int) (lengths.length * 0.99)], lengths[lengths.length - 1]);
+    }
+
+    /**
+     * 比较不同的哈希函数下命中和未命中时的探测长度
+     *
+     * @param count 插入的键的数量，另有相同数量的未插入的键
+     */
+    private static void probes(int count) {
+        int n = 2 * count;
+        Object[] sequential = new Object[n];
+        Object[] aligned = new Object[n];
+        Object[] packed = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sequential[i] = i;
+            // 按 1024 对齐的编号
+            aligned[i] = i << 10;
+            // 高低 32 位相同，Long.hashCode 全部为 0
+            packed[i] = (long) i << 32 | i;
+        }
+        String[] sets = {"sequential Integer", "aligned Integer", "packed Long", "colliding String"};
+        Object[][] keySets = {sequential, aligned, packed, collidingStrings(n)};
+        String[] names = {"identity", "mixed", "seeded"};
+        List<Hasher<Object>> hashers = List.of(Hashers.identity(), Hashers.mixed(), Hashers.seeded());
+        for (int s = 0; s < sets.length; s++) {
+            Object[] keys = keySets[s];
+            for (int h = 0; h < hashers.size(); h++) {
+                LinearProbingHashST<Object, Integer> st = new LinearProbingHashST<>(hashers.get(h));
+                long start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    st.put(keys[i], i);
+                }
+                long build = System.nanoTime() - start;
+                int[] hit = new int[count];
+                int[] miss = new int[count];
+                for (int i = 0; i < count; i++) {
+                    hit[i] = st.probes(keys[i]);
+                    miss[i] = st.probes(keys[count + i]);
+                }
+                System.out.printf("%-18s %-8s build %8.1f ms   hit %s   miss %s%n", sets[s], names[h],
+                        build / 1e6, distribution(hit), distribution(miss));
+            }
+        }
+    }
+
+    /**
+     * 生成查找的键：一半来自已插入的键，一半是未插入的键
+     *
+     * @param random       随机数生成器
+     * @param present      已插入的键
+     * @param presentCount 已插入的键的数量
+     * @param absent       未插入的键
+     * @return 随机顺序的查找的键
+     */
+    private static Integer[] queries(Random random, Integer[] present, int presentCount, Integer[] absent) {
+        Integer[] queries = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = i % 2 == 0 ? present[random.nextInt(presentCount)] : absent[random.nextInt(absent.length)];
+        }
+        return queries;
+    }
+
+    /**
+     * 运行基准测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && "probes".equals(args[0])) {
+            probes(args.length > 1 ? Integer.parseInt(args[1]) : 1 << 13);
+            return;
+        }
+        Random random = new Random(42);
+        int max = (int) (CAPACITY * LOAD_FACTORS[LOAD_FACTORS.length - 1]);
+        Integer[] keys = distinctKeys(random, max + LOOKUPS);
+        Integer[] absent = Arrays.copyOfRange(keys, max, keys.length);
+        if (args.length > 0 && "compare".equals(args[0])) {
+            compare(random, keys, absent);
+            return;
+        }
+        if (args.length > 0 && "bulk".equals(args[0])) {
+            bulk(random, keys, absent);
+            return;
+        }
+
+        for (double loadFactor : LOAD_FACTORS) {
+            int count = (int) (CAPACITY * loadFactor);
+            // 装载因子的上限略高于目标，保证填充过程中不会扩容
+            RobinHoodHashST<Integer, Integer> st = new RobinHoodHashST<>(CAPACITY, Math.min(0.99, loadFactor + 0.01));
+            for (int i = 0; i < count; i++) {
+                st.put(keys[i], i);
+            }
+            measure(String.format("RobinHoodHashST load %.1f", loadFactor), st::get,
+                    queries(random, keys, count, absent));
+            System.out.printf("%-28s max probe length %d%n", "", st.maxProbeLength());
+        }
+
+        int count = CAPACITY / 2 - 1;
+        LinearProbingHashST<Integer, Integer> st = new LinearProbingHashST<>(CAPACITY);
+        for (int i = 0; i < count; i++) {
+            st.put(keys[i], i);
+        }
+        measure("LinearProbingHashST load 0.5", st::get, queries(random, keys, count, absent));
+    }
+}
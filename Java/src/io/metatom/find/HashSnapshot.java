@@ -0,0 +1,562 @@
+package io.metatom.find;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 散列表的只读快照
+ * <p>
+ * 将 {@link LinearProbingHashST} 或 {@link SeparateChainingHashST} 中的键值对编码为字节后写入文件，
+ * 文件本身就是一张线性探测的散列表，加载时只需要内存映射，查找直接在映射的文件上进行，
+ * 不需要读入和重新散列所有的键，加载时间与键值对的数量无关。
+ * 哈希值由键编码后的字节计算，与 hashCode 无关，因此文件可以在不同的进程之间共享。
+ * <p>
+ * 文件格式（大端序）：32 字节的文件头（魔数、键的编码、值的编码、位置数的对数、键值对数量、保留），
+ * 然后是 2 的幂个 16 字节的位置（标记、键的字节数、记录在文件中的偏移量），标记为 0 表示空位置，
+ * 最后是按照位置顺序排列的记录（键的字节、值的字节数、值的字节），顺序遍历所有的键时按顺序读取文件。
+ * 文件按 1GB 分块映射，大小不受 2GB 的限制
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class HashSnapshot<Key, Value> {
+    /**
+     * 魔数
+     */
+    private static final int MAGIC = 0x48534e50;
+    /**
+     * 文件头的字节数
+     */
+    private static final int HEADER = 32;
+    /**
+     * 每个位置的字节数
+     */
+    private static final int SLOT_BYTES = 16;
+    /**
+     * 每一块映射的字节数的对数
+     */
+    private static final int CHUNK_SHIFT = 30;
+    /**
+     * 字符串的编码，UTF-8
+     */
+    public static final Codec<String> STRING = new Codec<String>() {
+        @Override
+        public int id() {
+            return 1;
+        }
+
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+    /**
+     * Long 的编码，8 个字节
+     */
+    public static final Codec<Long> LONG = new Codec<Long>() {
+        @Override
+        public int id() {
+            return 2;
+        }
+
+        @Override
+        public byte[] encode(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+    /**
+     * Integer 的编码，4 个字节
+     */
+    public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+        @Override
+        public int id() {
+            return 3;
+        }
+
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+    /**
+     * 按块映射的文件
+     */
+    private final ByteBuffer[] chunks;
+    /**
+     * 键的编码
+     */
+    private final Codec<Key> keyCodec;
+    /**
+     * 值的编码
+     */
+    private final Codec<Value> valueCodec;
+    /**
+     * 位置数减 1
+     */
+    private final long mask;
+    /**
+     * 键值对的数量
+     */
+    private final int n;
+
+    /**
+     * 键和值与字节之间的编码
+     *
+     * @param <T> 泛型类型
+     */
+    public interface Codec<T> {
+        /**
+         * 编码的标识，写入文件头，加载时检查编码是否一致
+         *
+         * @return 标识
+         */
+        int id();
+
+        /**
+         * 编码
+         *
+         * @param value 对象
+         * @return 字节
+         */
+        byte[] encode(T value);
+
+        /**
+         * 解码
+         *
+         * @param bytes 字节
+         * @return 对象
+         */
+        T decode(byte[] bytes);
+    }
+
+    /**
+     * 构造方法，检查文件头以及文件长度是否足以容纳所有的位置
+     *
+     * @param chunks     按块映射的文件
+     * @param keyCodec   键的编码
+     * @param valueCodec 值的编码
+     */
+    private HashSnapshot(ByteBuffer[] chunks, Codec<Key> keyCodec, Codec<Value> valueCodec) {
+        this.chunks = chunks;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        ByteBuffer header = chunks[0];
+        if (header.capacity() < HEADER || header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not a hash snapshot");
+        }
+        if (header.getInt(4) != keyCodec.id() || header.getInt(8) != valueCodec.id()) {
+            throw new IllegalArgumentException("snapshot was written with different codecs");
+        }
+        int log = header.getInt(12);
+        long count = header.getLong(16);
+        long size = 0;
+        for (ByteBuffer chunk : chunks) {
+            size += chunk.capacity();
+        }
+        // 文件头或者文件长度不合法时，查找会越过映射的范围
+        if (log < 1 || log > 31 || size < HEADER + (1L << log) * SLOT_BYTES || count < 0 || count > 1L << log) {
+            throw new IllegalArgumentException("corrupt hash snapshot");
+        }
+        mask = (1L << log) - 1;
+        n = (int) count;
+    }
+
+    /**
+     * 内存映射快照文件
+     *
+     * @param source     快照文件
+     * @param keyCodec   键的编码，必须与写入时相同
+     * @param valueCodec 值的编码，必须与写入时相同
+     * @param <Key>      泛型类型
+     * @param <Value>    泛型类型
+     * @return 快照
+     * @throws IOException 读取失败
+     */
+    public static <Key, Value> HashSnapshot<Key, Value> load(Path source, Codec<Key> keyCodec,
+                                                            Codec<Value> valueCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] chunks = new ByteBuffer[(int) Math.max(1, (size + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                // 关闭通道后映射仍然有效
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << CHUNK_SHIFT, size - start));
+            }
+            return new HashSnapshot<>(chunks, keyCodec, valueCodec);
+        }
+    }
+
+    /**
+     * 将线性探测散列表写入快照文件
+     *
+     * @param st         散列表
+     * @param keyCodec   键的编码
+     * @param valueCodec 值的编码
+     * @param target     快照文件
+     * @param <Key>      泛型类型
+     * @param <Value>    泛型类型
+     * @throws IOException 写入失败
+     */
+    public static <Key, Value> void write(LinearProbingHashST<Key, Value> st, Codec<Key> keyCodec,
+                                          Codec<Value> valueCodec, Path target) throws IOException {
+        write(st.keys(), st::get, keyCodec, valueCodec, target);
+    }
+
+    /**
+     * 将拉链法散列表写入快照文件
+     *
+     * @param st         散列表
+     * @param keyCodec   键的编码
+     * @param valueCodec 值的编码
+     * @param target     快照文件
+     * @param <Key>      泛型类型
+     * @param <Value>    泛型类型
+     * @throws IOException 写入失败
+     */
+    public static <Key, Value> void write(SeparateChainingHashST<Key, Value> st, Codec<Key> keyCodec,
+                                          Codec<Value> valueCodec, Path target) throws IOException {
+        write(st.keys(), st::get, keyCodec, valueCodec, target);
+    }
+
+    /**
+     * 将键值对写入快照文件
+     *
+     * @param keys       不重复的键
+     * @param value      键对应的值，不能为 null
+     * @param keyCodec   键的编码
+     * @param valueCodec 值的编码
+     * @param target     快照文件
+     * @param <Key>      泛型类型
+     * @param <Value>    泛型类型
+     * @throws IOException 写入失败
+     */
+    public static <Key, Value> void write(Iterable<Key> keys, Function<Key, Value> value, Codec<Key> keyCodec,
+                                          Codec<Value> valueCodec, Path target) throws IOException {
+        int count = 0;
+        for (Key key : keys) {
+            count++;
+        }
+        byte[][] encodedKeys = new byte[count][];
+        byte[][] encodedVals = new byte[count][];
+        int[] tags = new int[count];
+        int k = 0;
+        for (Key key : keys) {
+            Value val = value.apply(key);
+            if (val == null) {
+                throw new IllegalArgumentException("value of key " + key + " is null");
+            }
+            encodedKeys[k] = keyCodec.encode(key);
+            encodedVals[k] = valueCodec.encode(val);
+            tags[k] = OffHeapHashST.hash(encodedKeys[k]) | 0x80000000;
+            k++;
+        }
+
+        // 装载因子不超过 1/2，slots 中存放每个位置上的键的下标加 1
+        int log = 64 - Long.numberOfLeadingZeros(2L * Math.max(1, count) - 1);
+        int[] slots = new int[1 << log];
+        int slotMask = slots.length - 1;
+        for (int i = 0; i < count; i++) {
+            int j = tags[i] & slotMask;
+            while (slots[j] != 0) {
+                j = (j + 1) & slotMask;
+            }
+            slots[j] = i + 1;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(target), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(keyCodec.id());
+            out.writeInt(valueCodec.id());
+            out.writeInt(log);
+            out.writeLong(count);
+            out.writeLong(0);
+            long offset = HEADER + (long) slots.length * SLOT_BYTES;
+            for (int slot : slots) {
+                if (slot == 0) {
+                    out.writeInt(0);
+                    out.writeInt(0);
+                    out.writeLong(0);
+                } else {
+                    out.writeInt(tags[slot - 1]);
+                    out.writeInt(encodedKeys[slot - 1].length);
+                    out.writeLong(offset);
+                    offset += encodedKeys[slot - 1].length + Integer.BYTES + encodedVals[slot - 1].length;
+                }
+            }
+            for (int slot : slots) {
+                if (slot != 0) {
+                    out.write(encodedKeys[slot - 1]);
+                    out.writeInt(encodedVals[slot - 1].length);
+                    out.write(encodedVals[slot - 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取键值对的数量
+     *
+     * @return 键值对的数量
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 检查快照是否为空
+     *
+     * @return {@code true} 快照为空
+     * {@code false} 快照不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 文件中的位置所在的块
+     *
+     * @param pos 文件中的位置
+     * @return 块
+     */
+    private ByteBuffer chunk(long pos) {
+        return chunks[(int) (pos >>> CHUNK_SHIFT)];
+    }
+
+    /**
+     * 文件中的位置在块中的偏移量
+     *
+     * @param pos 文件中的位置
+     * @return 块中的偏移量
+     */
+    private static int offset(long pos) {
+        return (int) (pos & ((1 << CHUNK_SHIFT) - 1));
+    }
+
+    /**
+     * 读取文件中的一个字节
+     *
+     * @param pos 文件中的位置
+     * @return 字节
+     */
+    private byte byteAt(long pos) {
+        return chunk(pos).get(offset(pos));
+    }
+
+    /**
+     * 读取文件中的 int，可以跨越两块
+     *
+     * @param pos 文件中的位置
+     * @return int
+     */
+    private int intAt(long pos) {
+        ByteBuffer chunk = chunk(pos);
+        if (offset(pos) + Integer.BYTES <= chunk.capacity()) {
+            return chunk.getInt(offset(pos));
+        }
+        int v = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            v = v << 8 | (byteAt(pos + i) & 0xff);
+        }
+        return v;
+    }
+
+    /**
+     * 读取文件中的字节，可以跨越两块
+     *
+     * @param pos 文件中的位置
+     * @param dst 读取的字节
+     */
+    private void read(long pos, byte[] dst) {
+        ByteBuffer chunk = chunk(pos);
+        int first = Math.min(dst.length, chunk.capacity() - offset(pos));
+        chunk.get(offset(pos), dst, 0, first);
+        if (first < dst.length) {
+            chunks[(int) (pos >>> CHUNK_SHIFT) + 1].get(0, dst, first, dst.length - first);
+        }
+    }
+
+    /**
+     * 比较文件中的字节与键的字节
+     *
+     * @param pos 文件中的位置
+     * @param key 键的字节
+     * @return {@code true} 相同
+     */
+    private boolean bytesEqual(long pos, byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (byteAt(pos + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 位置在文件中的偏移量，位置不会跨越两块
+     *
+     * @param slot 位置
+     * @return 偏移量
+     */
+    private static long slotOffset(long slot) {
+        return HEADER + slot * SLOT_BYTES;
+    }
+
+    /**
+     * 查找键的记录在文件中的偏移量
+     *
+     * @param bytes 键编码后的字节
+     * @return 记录的偏移量，不存在时为 -1
+     */
+    private long find(byte[] bytes) {
+        int tag = OffHeapHashST.hash(bytes) | 0x80000000;
+        for (long i = tag & 0x7fffffffL & mask; ; i = (i + 1) & mask) {
+            long pos = slotOffset(i);
+            ByteBuffer chunk = chunk(pos);
+            int offset = offset(pos);
+            int t = chunk.getInt(offset);
+            if (t == 0) {
+                return -1;
+            }
+            if (t == tag && chunk.getInt(offset + 4) == bytes.length) {
+                long record = chunk.getLong(offset + 8);
+                if (bytesEqual(record, bytes)) {
+                    return record;
+                }
+            }
+        }
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        byte[] bytes = keyCodec.encode(key);
+        long record = find(bytes);
+        if (record < 0) {
+            return null;
+        }
+        long pos = record + bytes.length;
+        byte[] val = new byte[intAt(pos)];
+        read(pos + Integer.BYTES, val);
+        return valueCodec.decode(val);
+    }
+
+    /**
+     * 检查键在快照中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return find(keyCodec.encode(key)) >= 0;
+    }
+
+    /**
+     * 获取所有的键，按照文件中记录的顺序解码
+     *
+     * @return 键的集合
+     */
+    public Iterable<Key> keys() {
+        return () -> new Iterator<Key>() {
+            private long i = advance(0);
+
+            private long advance(long from) {
+                while (from <= mask && chunk(slotOffset(from)).getInt(offset(slotOffset(from))) == 0) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i <= mask;
+            }
+
+            @Override
+            public Key next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long pos = slotOffset(i);
+                byte[] key = new byte[chunk(pos).getInt(offset(pos) + 4)];
+                read(chunk(pos).getLong(offset(pos) + 8), key);
+                i = advance(i + 1);
+                return keyCodec.decode(key);
+            }
+        };
+    }
+
+    /**
+     * 单元测试，比较从头构造散列表与加载快照的耗时
+     *
+     * @param args 命令行参数
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        Path file = Paths.get(args.length > 1 ? args[1] : "hash.snapshot");
+
+        long start = System.nanoTime();
+        LinearProbingHashST<String, Long> st = new LinearProbingHashST<>();
+        for (long i = 0; i < count; i++) {
+            st.put("key" + i, i * i);
+        }
+        long build = System.nanoTime() - start;
+        write(st, STRING, LONG, file);
+
+        start = System.nanoTime();
+        HashSnapshot<String, Long> snapshot = load(file, STRING, LONG);
+        long load = System.nanoTime() - start;
+        System.out.printf("build %d ms, load %.3f ms, file %d bytes%n", build / 1000000, load / 1e6, Files.size(file));
+
+        int found = 0;
+        for (long i = 0; i < count; i++) {
+            Long val = snapshot.get("key" + i);
+            if (val != null && val == i * i) {
+                found++;
+            }
+        }
+        System.out.println("size = " + snapshot.size() + ", found = " + found
+                + ", contains(\"key-1\") = " + snapshot.contains("key-1"));
+    }
+}
@@ -0,0 +1,23 @@
+package io.metatom.find;
+
+/**
+ * 散列表使用的哈希函数
+ * <p>
+ * 散列表只使用哈希值的低 31 位对表的大小取模，哈希函数应该让这些位分布均匀。
+ * 同一个散列表在扩容前后必须使用同一个哈希函数，相等的键必须得到相同的哈希值
+ *
+ * @param <Key> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ * @see Hashers
+ */
+public interface Hasher<Key> {
+    /**
+     * 计算键的哈希值
+     *
+     * @param key 键，不为 null
+     * @return 哈希值
+     */
+    int hash(Key key);
+}
@@ -0,0 +1,178 @@
+package io.metatom.find;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+
+/**
+ * 常用的哈希函数
+ * <p>
+ * {@link #identity()} 直接使用 hashCode，是散列表的默认行为。连续的 Long、按 2 的幂对齐的 Integer
+ * 这类低熵的键在取模后会集中在少数位置，形成很长的探测序列，{@link #mixed()} 用 MurmurHash3 的 fmix32
+ * 混合 hashCode 的各位来避免这种情况。但 hashCode 本身相同的键无论怎样混合仍然冲突，而 String.hashCode
+ * 很容易构造出大量相同的值（例如由 "Aa" 和 "BB" 拼接的字符串），攻击者可以借此让散列表退化为链表（hash flooding）。
+ * {@link #seeded()} 对字符串和字节数组逐 8 个字节做 wyhash 风格的乘法混合，对整数直接混合 64 位的值，
+ * 都不经过 hashCode，并且混入每个散列表随机生成的种子，不知道种子时无法预先构造冲突的键。
+ * 代价是字符串的哈希值不再被 String 缓存，每次操作都要遍历整个字符串
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class Hashers {
+    /**
+     * wyhash 的常数，与种子混合
+     */
+    private static final long P0 = 0xa0761d6478bd642fL;
+    /**
+     * wyhash 的常数，作为乘数
+     */
+    private static final long P1 = 0xe7037ed1a0b428dbL;
+    /**
+     * 以小端序读取 8 个字节
+     */
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    /**
+     * 生成种子的随机数生成器
+     */
+    private static final SecureRandom SEEDS = new SecureRandom();
+    /**
+     * 直接使用 hashCode
+     */
+    private static final Hasher<Object> IDENTITY = Object::hashCode;
+    /**
+     * 混合 hashCode 的各位
+     */
+    private static final Hasher<Object> MIXED = key -> IntIntMap.mix(key.hashCode());
+
+    private Hashers() {
+    }
+
+    /**
+     * 直接使用 hashCode 的哈希函数
+     *
+     * @return 哈希函数
+     */
+    public static Hasher<Object> identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * 用 fmix32 混合 hashCode 各位的哈希函数，不能避免 hashCode 相同的键之间的冲突
+     *
+     * @return 哈希函数
+     */
+    public static Hasher<Object> mixed() {
+        return MIXED;
+    }
+
+    /**
+     * 使用随机种子的哈希函数
+     *
+     * @return 哈希函数
+     */
+    public static Hasher<Object> seeded() {
+        return seeded(SEEDS.nextLong());
+    }
+
+    /**
+     * 使用指定种子的哈希函数。字符串、字节数组、Long、Integer、Short、Byte 和 Character 按内容计算，
+     * 其他类型的键混合种子和 hashCode，只能避免低熵的 hashCode 聚集，不能避免 hashCode 相同的键之间的冲突
+     *
+     * @param seed 种子
+     * @return 哈希函数
+     */
+    public static Hasher<Object> seeded(long seed) {
+        return key -> {
+            long h;
+            if (key instanceof String) {
+                h = hash((String) key, seed);
+            } else if (key instanceof byte[]) {
+                h = hash((byte[]) key, seed);
+            } else if (key instanceof Long) {
+                h = hash((long) (Long) key, seed);
+            } else if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+                h = hash(((Number) key).longValue(), seed);
+            } else if (key instanceof Character) {
+                h = hash((long) (Character) key, seed);
+            } else {
+                h = hash((long) key.hashCode(), seed);
+            }
+            return (int) h;
+        };
+    }
+
+    /**
+     * 128 位乘积的高 64 位与低 64 位异或
+     *
+     * @param a 乘数
+     * @param b 乘数
+     * @return 混合后的值
+     */
+    private static long mum(long a, long b) {
+        return Math.multiplyHigh(a, b) ^ a * b;
+    }
+
+    /**
+     * 计算 64 位整数的哈希值
+     *
+     * @param value 整数
+     * @param seed  种子
+     * @return 64 位哈希值
+     */
+    public static long hash(long value, long seed) {
+        return LongLongMap.mix64(mum(value ^ seed ^ P0, P1));
+    }
+
+    /**
+     * 计算字符串的哈希值，每 4 个字符组成 8 个字节
+     *
+     * @param s    字符串
+     * @param seed 种子
+     * @return 64 位哈希值
+     */
+    public static long hash(String s, long seed) {
+        int n = s.length();
+        long h = seed ^ P0;
+        int i = 0;
+        for (; i + 4 <= n; i += 4) {
+            long w = s.charAt(i) | (long) s.charAt(i + 1) << 16
+                    | (long) s.charAt(i + 2) << 32 | (long) s.charAt(i + 3) << 48;
+            h = mum(h ^ w, P1);
+        }
+        if (i < n) {
+            long w = 0;
+            for (int shift = 0; i < n; i++, shift += 16) {
+                w |= (long) s.charAt(i) << shift;
+            }
+            h = mum(h ^ w, P1);
+        }
+        // 混入长度，区分末尾补零的字符串
+        return LongLongMap.mix64(h ^ n);
+    }
+
+    /**
+     * 计算字节数组的哈希值，每次读取 8 个字节
+     *
+     * @param key  字节数组
+     * @param seed 种子
+     * @return 64 位哈希值
+     */
+    public static long hash(byte[] key, long seed) {
+        int n = key.length;
+        long h = seed ^ P0;
+        int i = 0;
+        for (; i + Long.BYTES <= n; i += Long.BYTES) {
+            h = mum(h ^ (long) LONG.get(key, i), P1);
+        }
+        if (i < n) {
+            long w = 0;
+            for (int shift = 0; i < n; i++, shift += 8) {
+                w |= (key[i] & 0xffL) << shift;
+            }
+            h = mum(h ^ w, P1);
+        }
+        return LongLongMap.mix64(h ^ n);
+    }
+}
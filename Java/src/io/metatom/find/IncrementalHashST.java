@@ -0,0 +1,403 @@
+package io.metatom.find;
+
+import io.metatom.base.Queue;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 渐进式扩容的拉链法散列表
+ * <p>
+ * {@link SeparateChainingHashST} 和 {@link LinearProbingHashST} 扩容时一次性重新插入所有的键，
+ * 散列表很大时触发扩容的那一次 put 会停顿很久。这里扩容时只分配新的桶数组，旧的桶数组继续保留，
+ * 之后的每一次 get、put 和 delete 都顺带把旧数组中的几个桶迁移到新数组，全部迁移完成后才丢弃旧数组。
+ * 迁移期间查找需要检查两个数组，插入只写入新数组，因此每次操作的最坏耗时与散列表的大小无关。
+ * 迁移期间两个数组同时存在，内存占用会短暂增加
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+@SuppressWarnings("unused")
+public class IncrementalHashST<Key, Value> implements SymbolTable<Key, Value> {
+    /**
+     * 默认初始化的桶数
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     * 每次操作最多迁移的非空桶数
+     */
+    private static final int MIGRATE_BUCKETS = 2;
+    /**
+     * 每次操作最多跳过的空桶数
+     */
+    private static final int MAX_EMPTY_VISITS = 10 * MIGRATE_BUCKETS;
+    /**
+     * 键值对的数量
+     */
+    private int n;
+    /**
+     * 当前的桶数组，迁移期间为旧数组
+     */
+    private Node<Key, Value>[] table;
+    /**
+     * 迁移期间的新数组，不在迁移时为 null
+     */
+    private Node<Key, Value>[] next;
+    /**
+     * 旧数组中下一个要迁移的桶，不在迁移时为 -1
+     */
+    private int migrateIndex = -1;
+
+    /**
+     * 链表节点
+     */
+    private static final class Node<Key, Value> {
+        private final Key key;
+        private final int hash;
+        private Value val;
+        private Node<Key, Value> next;
+
+        Node(Key key, int hash, Value val, Node<Key, Value> next) {
+            this.key = key;
+            this.hash = hash;
+            this.val = val;
+            this.next = next;
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    public IncrementalHashST() {
+        this(INIT_CAPACITY);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param cap 初始化的桶数，向上取整到 2 的幂
+     */
+    public IncrementalHashST(int cap) {
+        if (cap < 0 || cap > 1 << 30) {
+            throw new IllegalArgumentException("capacity is out of range: " + cap);
+        }
+        table = newTable(Math.max(INIT_CAPACITY, Integer.highestOneBit(Math.max(1, cap - 1)) << 1));
+    }
+
+    /**
+     * 分配桶数组
+     *
+     * @param cap 桶数，2 的幂
+     * @return 桶数组
+     */
+    private static <Key, Value> Node<Key, Value>[] newTable(int cap) {
+        return (Node<Key, Value>[]) new Node[cap];
+    }
+
+    /**
+     * 哈希函数，混合 hashCode 的各位使掩码后的低位分布均匀
+     *
+     * @param key 键值对的键
+     * @return 哈希值
+     */
+    private static int hash(Object key) {
+        return IntIntMap.mix(key.hashCode());
+    }
+
+    /**
+     * 获取散列表的大小
+     *
+     * @return 散列表的大小
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 是否正在迁移
+     *
+     * @return {@code true} 两个桶数组同时存在
+     * {@code false} 只有一个桶数组
+     */
+    boolean isMigrating() {
+        return next != null;
+    }
+
+    /**
+     * 在桶数组中查找键
+     *
+     * @param t   桶数组
+     * @param key 键
+     * @param h   键的哈希值
+     * @return 键所在的节点，不存在时为 null
+     */
+    private static <Key, Value> Node<Key, Value> find(Node<Key, Value>[] t, Object key, int h) {
+        for (Node<Key, Value> x = t[h & (t.length - 1)]; x != null; x = x.next) {
+            if (x.hash == h && key.equals(x.key)) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在两个桶数组中查找键
+     *
+     * @param key 键
+     * @param h   键的哈希值
+     * @return 键所在的节点，不存在时为 null
+     */
+    private Node<Key, Value> find(Object key, int h) {
+        Node<Key, Value> x = find(table, key, h);
+        if (x == null && next != null) {
+            x = find(next, key, h);
+        }
+        return x;
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        migrate();
+        Node<Key, Value> x = find(key, hash(key));
+        return x == null ? null : x.val;
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * 添加新的键值对
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值，为 null 时删除该键
+     */
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        migrate();
+        int h = hash(key);
+        Node<Key, Value> x = find(key, h);
+        if (x != null) {
+            x.val = val;
+            return;
+        }
+        // 迁移期间新的键只写入新数组
+        Node<Key, Value>[] t = next != null ? next : table;
+        int i = h & (t.length - 1);
+        t[i] = new Node<>(key, h, val, t[i]);
+        n++;
+        // 平均链表长度超过 1 时开始扩容
+        if (next == null && n > table.length) {
+            startMigration(table.length * 2);
+        }
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        migrate();
+        int h = hash(key);
+        if (!(remove(table, key, h) || next != null && remove(next, key, h))) {
+            return;
+        }
+        n--;
+        // 平均链表长度低于 1/8 时开始缩小
+        if (next == null && table.length > INIT_CAPACITY && n < table.length / 8) {
+            startMigration(table.length / 2);
+        }
+    }
+
+    /**
+     * 从桶数组中删除键
+     *
+     * @param t   桶数组
+     * @param key 键
+     * @param h   键的哈希值
+     * @return {@code true} 删除了键
+     * {@code false} 键不在该数组中
+     */
+    private static <Key, Value> boolean remove(Node<Key, Value>[] t, Object key, int h) {
+        int i = h & (t.length - 1);
+        for (Node<Key, Value> x = t[i], prev = null; x != null; prev = x, x = x.next) {
+            if (x.hash == h && key.equals(x.key)) {
+                if (prev == null) {
+                    t[i] = x.next;
+                } else {
+                    prev.next = x.next;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 分配新的桶数组并开始迁移
+     *
+     * @param cap 新的桶数，2 的幂
+     */
+    private void startMigration(int cap) {
+        next = newTable(cap);
+        migrateIndex = 0;
+    }
+
+    /**
+     * 迁移旧数组中的至多 MIGRATE_BUCKETS 个非空桶，最多跳过 MAX_EMPTY_VISITS 个空桶，
+     * 旧数组全部迁移完成后用新数组替换
+     */
+    private void migrate() {
+        if (next == null) {
+            return;
+        }
+        int mask = next.length - 1;
+        for (int moved = 0, empty = 0; migrateIndex < table.length && moved < MIGRATE_BUCKETS; migrateIndex++) {
+            Node<Key, Value> x = table[migrateIndex];
+            if (x == null) {
+                if (++empty > MAX_EMPTY_VISITS) {
+                    return;
+                }
+                continue;
+            }
+            while (x != null) {
+                Node<Key, Value> following = x.next;
+                int j = x.hash & mask;
+                x.next = next[j];
+                next[j] = x;
+                x = following;
+            }
+            table[migrateIndex] = null;
+            moved++;
+        }
+        if (migrateIndex == table.length) {
+            table = next;
+            next = null;
+            migrateIndex = -1;
+        }
+    }
+
+    /**
+     * 获取哈希表键的集合
+     *
+     * @return 键的集合
+     */
+    public Iterable<Key> keys() {
+        Queue<Key> queue = new Queue<>();
+        enqueue(table, queue);
+        if (next != null) {
+            enqueue(next, queue);
+        }
+        return queue;
+    }
+
+    /**
+     * 将桶数组中所有的键加入队列
+     *
+     * @param t     桶数组
+     * @param queue 队列
+     */
+    private static <Key, Value> void enqueue(Node<Key, Value>[] t, Queue<Key> queue) {
+        for (Node<Key, Value> head : t) {
+            for (Node<Key, Value> x = head; x != null; x = x.next) {
+                queue.enqueue(x.key);
+            }
+        }
+    }
+
+    /**
+     * 逐个插入 0 到 count - 1，输出单次 put 耗时的 99.99 分位数和最大值，最大值中包含垃圾回收的停顿
+     *
+     * @param name  名称
+     * @param put   插入操作
+     * @param count 插入的次数
+     */
+    private static void measure(String name, IntConsumer put, int count) {
+        long[] latency = new long[count];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long t = System.nanoTime();
+            put.accept(i);
+            latency[i] = System.nanoTime() - t;
+        }
+        long total = System.nanoTime() - start;
+        Arrays.sort(latency);
+        System.out.printf("%-22s total %5d ms   p99.99 %8.3f ms   max %8.3f ms%n", name, total / 1000000,
+                latency[(int) (count * 0.9999)] / 1e6, latency[count - 1] / 1e6);
+    }
+
+    /**
+     * 单元测试，比较逐个插入时单次 put 的耗时分布，再观察一次正在进行的迁移
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22;
+        for (int round = 0; round < 2; round++) {
+            IncrementalHashST<Integer, Integer> incremental = new IncrementalHashST<>();
+            measure("IncrementalHashST", i -> incremental.put(i, i), count);
+            SeparateChainingHashST<Integer, Integer> chaining = new SeparateChainingHashST<>();
+            measure("SeparateChainingHashST", i -> chaining.put(i, i), count);
+
+        }
+
+        // 插入到刚好开始迁移，之后的查找在两个桶数组中进行，并逐步完成迁移
+        IncrementalHashST<Integer, Integer> st = new IncrementalHashST<>();
+        int n = 0;
+        while (!st.isMigrating() || st.next.length < 1 << 16) {
+            st.put(n, n);
+            n++;
+        }
+        System.out.printf("migration started at %d keys: %d -> %d buckets%n", n, st.table.length, st.next.length);
+        int gets = 0;
+        int found = 0;
+        for (int i = 0; st.isMigrating(); i = (i + 1) % n) {
+            if (st.get(i) != null) {
+                found++;
+            }
+            gets++;
+        }
+        System.out.printf("migration finished after %d gets (%d found), %d buckets%n", gets, found, st.table.length);
+    }
+}
@@ -0,0 +1,216 @@
+package io.metatom.find;
+
+/**
+ * 最不经常使用（LFU）淘汰的缓存
+ * <p>
+ * 每个键记录被访问的次数，访问次数相同的键放在同一条 {@link CacheList} 中，按照最近访问的顺序排列。
+ * 每个访问次数对应一个频次节点，频次节点按访问次数从小到大组成双向链表，{@link IntObjectMap} 将访问次数映射到频次节点。
+ * 访问时把键移到下一个频次节点（不存在时在当前节点之后创建），缓存已满时淘汰链表头部频次节点中最久未访问的键，
+ * 空的频次节点立即从链表中删除，因此所有操作都是常数时间。访问次数达到 Integer.MAX_VALUE 后不再增加。
+ * 新的键的访问次数为 1，因此过去访问很多次但不再访问的键会一直留在缓存中
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class LFUCache<Key, Value> implements Cache<Key, Value> {
+    /**
+     * 缓存的容量
+     */
+    private final int capacity;
+    /**
+     * 键到链表节点的映射，节点的 tag 为访问次数
+     */
+    private final RobinHoodHashST<Key, CacheList.Node<Key, Value>> index;
+    /**
+     * 访问次数到频次节点的映射
+     */
+    private final IntObjectMap<Frequency<Key, Value>> frequencies = new IntObjectMap<>();
+    /**
+     * 访问次数最少的频次节点
+     */
+    private Frequency<Key, Value> head;
+    /**
+     * 键值对的数量
+     */
+    private int n;
+
+    /**
+     * 频次节点，存放访问次数相同的键
+     */
+    private static final class Frequency<Key, Value> {
+        private final int count;
+        private final CacheList<Key, Value> list = new CacheList<>();
+        private Frequency<Key, Value> prev;
+        private Frequency<Key, Value> next;
+
+        Frequency(int count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param capacity 缓存的容量
+     */
+    public LFUCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.index = LRUCache.newIndex(capacity);
+    }
+
+    /**
+     * 将节点加入访问次数对应的频次节点，频次节点不存在时创建在 prev 之后
+     *
+     * @param x    节点
+     * @param prev 访问次数小于 x.tag 的最后一个频次节点，为 null 时创建在链表头部
+     */
+    private void link(CacheList.Node<Key, Value> x, Frequency<Key, Value> prev) {
+        Frequency<Key, Value> f = frequencies.get(x.tag);
+        if (f == null) {
+            f = new Frequency<>(x.tag);
+            f.prev = prev;
+            f.next = prev == null ? head : prev.next;
+            if (f.next != null) {
+                f.next.prev = f;
+            }
+            if (prev == null) {
+                head = f;
+            } else {
+                prev.next = f;
+            }
+            frequencies.put(x.tag, f);
+        }
+        f.list.addFirst(x);
+    }
+
+    /**
+     * 将节点从访问次数对应的频次节点中删除，频次节点为空时同时删除频次节点
+     *
+     * @param x 节点
+     * @return 节点原来所在的频次节点的前一个频次节点，不存在时为 null
+     */
+    private Frequency<Key, Value> unlink(CacheList.Node<Key, Value> x) {
+        Frequency<Key, Value> f = frequencies.get(x.tag);
+        f.list.remove(x);
+        if (!f.list.isEmpty()) {
+            return f.prev;
+        }
+        if (f.prev == null) {
+            head = f.next;
+        } else {
+            f.prev.next = f.next;
+        }
+        if (f.next != null) {
+            f.next.prev = f.prev;
+        }
+        frequencies.delete(x.tag);
+        return f.prev;
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param x 节点
+     */
+    private void touch(CacheList.Node<Key, Value> x) {
+        // 访问次数达到上限后不再增加，只移到链表头部
+        if (x.tag == Integer.MAX_VALUE) {
+            frequencies.get(x.tag).list.moveToFront(x);
+            return;
+        }
+        Frequency<Key, Value> f = frequencies.get(x.tag);
+        Frequency<Key, Value> prev = unlink(x);
+        // 当前频次节点没有被删除时，新的频次节点位于它之后
+        if (!f.list.isEmpty()) {
+            prev = f;
+        }
+        x.tag++;
+        link(x, prev);
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x == null) {
+            return null;
+        }
+        touch(x);
+        return x.val;
+    }
+
+    @Override
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            throw new IllegalArgumentException("second argument to put() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x != null) {
+            x.val = val;
+            touch(x);
+            return;
+        }
+        if (n == capacity) {
+            CacheList.Node<Key, Value> victim = head.list.last();
+            unlink(victim);
+            index.delete(victim.key);
+            n--;
+        }
+        x = new CacheList.Node<>(key, val);
+        x.tag = 1;
+        link(x, null);
+        index.put(key, x);
+        n++;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x == null) {
+            return;
+        }
+        unlink(x);
+        index.delete(key);
+        n--;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        LFUCache<String, Integer> cache = new LFUCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.get("b");
+        cache.get("b");
+        cache.put("c", 3);
+        System.out.println("a = " + cache.get("a") + ", b = " + cache.get("b") + ", c = " + cache.get("c"));
+    }
+}
@@ -0,0 +1,126 @@
+package io.metatom.find;
+
+/**
+ * 最近最少使用（LRU）淘汰的缓存
+ * <p>
+ * {@link RobinHoodHashST} 将键映射到侵入式双向链表 {@link CacheList} 中的节点，每次访问把节点移动到链表头部，
+ * 缓存已满时淘汰链表尾部最久没有访问的键，所有操作都是常数时间
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class LRUCache<Key, Value> implements Cache<Key, Value> {
+    /**
+     * 缓存的容量
+     */
+    private final int capacity;
+    /**
+     * 键到链表节点的映射
+     */
+    private final RobinHoodHashST<Key, CacheList.Node<Key, Value>> index;
+    /**
+     * 按访问顺序排列的节点
+     */
+    private final CacheList<Key, Value> list = new CacheList<>();
+
+    /**
+     * 构造方法
+     *
+     * @param capacity 缓存的容量
+     */
+    public LRUCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.index = newIndex(capacity);
+    }
+
+    /**
+     * 创建足够放下 capacity 个键而不需要扩容的散列表
+     *
+     * @param capacity 缓存的容量
+     * @param <Key>    泛型类型
+     * @param <Node>   泛型类型
+     * @return 散列表
+     */
+    static <Key, Node> RobinHoodHashST<Key, Node> newIndex(int capacity) {
+        return new RobinHoodHashST<>((int) Math.min(1 << 30, 2L * capacity), 0.75);
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x == null) {
+            return null;
+        }
+        list.moveToFront(x);
+        return x.val;
+    }
+
+    @Override
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            throw new IllegalArgumentException("second argument to put() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x != null) {
+            x.val = val;
+            list.moveToFront(x);
+            return;
+        }
+        if (list.size() == capacity) {
+            CacheList.Node<Key, Value> victim = list.last();
+            list.remove(victim);
+            index.delete(victim.key);
+        }
+        x = new CacheList.Node<>(key, val);
+        list.addFirst(x);
+        index.put(key, x);
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x != null) {
+            list.remove(x);
+            index.delete(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        LRUCache<String, Integer> cache = new LRUCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+        System.out.println("a = " + cache.get("a") + ", b = " + cache.get("b") + ", c = " + cache.get("c"));
+    }
+}
@@ -2,24 +2,33 @@ package io.metatom.find;
 
 import io.metatom.base.Queue;
 
+import java.util.stream.IntStream;
+
 /**
  * 基于线性探测的散列表
  * <p>
  * 利用大小为 M 的数组存放 N 个键值对，其中 M > N，
- * 当发生哈希冲突时，依次检查散列表的下一个位置，直到没有冲突
+ * 当发生哈希冲突时，依次检查散列表的下一个位置，直到没有冲突。
+ * 可以从键和值的数组批量构造，一次分配好数组的大小，避免逐个插入时的多次扩容；
+ * {@link #getAll(Object[], Object[])} 分阶段处理一批键，减少等待内存访问的时间。
+ * 默认直接使用键的 hashCode，低熵或者可能被构造的键应该传入 {@link Hashers} 中的哈希函数
  *
  * @param <Key>   泛型类型
  * @param <Value> 泛型类型
  * @author igaozp
- * @version 1.0
+ * @version 1.3
  * @since 2017-07-10
  */
 @SuppressWarnings("unused")
-public class LinearProbingHashST<Key, Value> {
+public class LinearProbingHashST<Key, Value> implements SymbolTable<Key, Value> {
     /**
      * 默认初始化的大小
      */
     private static final int INIT_CAPACITY = 4;
+    /**
+     * 批量查找时每一批键的数量
+     */
+    private static final int BATCH = 16;
     /**
      * 键值对的数量
      */
@@ -36,6 +45,10 @@ public class LinearProbingHashST<Key, Value> {
      * 存放值的数组
      */
     private Value[] vals;
+    /**
+     * 哈希函数
+     */
+    private final Hasher<? super Key> hasher;
 
     /**
      * 构造方法
@@ -44,18 +57,175 @@ public class LinearProbingHashST<Key, Value> {
         this(INIT_CAPACITY);
     }
 
+    /**
+     * 构造方法
+     *
+     * @param hasher 哈希函数
+     */
+    public LinearProbingHashST(Hasher<? super Key> hasher) {
+        this(INIT_CAPACITY, hasher);
+    }
+
     /**
      * 构造函数
      *
      * @param cap 散列表初始化大小
      */
     public LinearProbingHashST(int cap) {
+        this(cap, Hashers.identity());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param cap    散列表初始化大小
+     * @param hasher 哈希函数
+     */
+    public LinearProbingHashST(int cap, Hasher<? super Key> hasher) {
+        if (hasher == null) {
+            throw new IllegalArgumentException("hasher is null");
+        }
+        this.hasher = hasher;
         M = cap;
         N = 0;
         keys = (Key[]) new Object[cap];
         vals = (Value[]) new Object[cap];
     }
 
+    /**
+     * 从键和值的数组批量构造散列表，键重复时保留后出现的值
+     *
+     * @param keys 键的数组
+     * @param vals 值的数组，与键一一对应
+     */
+    public LinearProbingHashST(Key[] keys, Value[] vals) {
+        this(keys, vals, false);
+    }
+
+    /**
+     * 从键和值的数组批量构造散列表，键重复时保留后出现的值
+     * <p>
+     * 并行构造时将散列表的位置划分为若干段连续的区间，先并行计算所有键的起始位置，按所在的区间稳定地分组，
+     * 再由各个线程分别插入起始位置在自己区间中的键，探测到区间末尾仍然没有空位置的键留到最后依次插入
+     *
+     * @param keys     键的数组
+     * @param vals     值的数组，与键一一对应
+     * @param parallel 是否并行插入
+     */
+    public LinearProbingHashST(Key[] keys, Value[] vals, boolean parallel) {
+        this(keys, vals, parallel, Hashers.identity());
+    }
+
+    /**
+     * 从键和值的数组批量构造散列表，键重复时保留后出现的值
+     *
+     * @param keys     键的数组
+     * @param vals     值的数组，与键一一对应
+     * @param parallel 是否并行插入
+     * @param hasher   哈希函数
+     */
+    public LinearProbingHashST(Key[] keys, Value[] vals, boolean parallel, Hasher<? super Key> hasher) {
+        if (keys == null || vals == null || hasher == null) {
+            throw new IllegalArgumentException("argument to LinearProbingHashST() is null");
+        }
+        if (keys.length != vals.length) {
+            throw new IllegalArgumentException("keys and values have different lengths");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null || vals[i] == null) {
+                throw new IllegalArgumentException("key or value at index " + i + " is null");
+            }
+        }
+        // 装载因子不超过 1/2，插入所有的键都不需要扩容
+        M = Math.max(INIT_CAPACITY, 2 * keys.length + 1);
+        this.hasher = hasher;
+        this.keys = (Key[]) new Object[M];
+        this.vals = (Value[]) new Object[M];
+        if (parallel) {
+            parallelLoad(keys, vals);
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                insert(keys[i], vals[i]);
+            }
+        }
+    }
+
+    /**
+     * 并行插入所有的键值对
+     *
+     * @param keys 键的数组
+     * @param vals 值的数组
+     */
+    private void parallelLoad(Key[] keys, Value[] vals) {
+        int n = keys.length;
+        int parts = Math.max(1, Math.min(n / 4096, 4 * Runtime.getRuntime().availableProcessors()));
+        int span = (M + parts - 1) / parts;
+        int[] homes = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> homes[i] = hash(keys[i]));
+
+        // 按区间稳定地分组，第 p 段的键在 order[start[p], start[p + 1]) 中
+        int[] start = new int[parts + 1];
+        for (int home : homes) {
+            start[home / span + 1]++;
+        }
+        for (int p = 0; p < parts; p++) {
+            start[p + 1] += start[p];
+        }
+        int[] order = new int[n];
+        int[] next = start.clone();
+        for (int i = 0; i < n; i++) {
+            order[next[homes[i] / span]++] = i;
+        }
+
+        // 每一段新插入的键的数量，溢出的键的下标写回 order[start[p], start[p] + spilled[p])
+        int[] added = new int[parts];
+        int[] spilled = new int[parts];
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            int hi = Math.min(M, (p + 1) * span);
+            for (int k = start[p]; k < start[p + 1]; k++) {
+                int idx = order[k];
+                int result = insertRange(keys[idx], vals[idx], homes[idx], hi);
+                if (result < 0) {
+                    order[start[p] + spilled[p]++] = idx;
+                } else {
+                    added[p] += result;
+                }
+            }
+        });
+        for (int p = 0; p < parts; p++) {
+            N += added[p];
+        }
+        for (int p = 0; p < parts; p++) {
+            for (int k = start[p]; k < start[p] + spilled[p]; k++) {
+                insert(keys[order[k]], vals[order[k]]);
+            }
+        }
+    }
+
+    /**
+     * 在区间内插入键值对，只探测到区间的末尾
+     *
+     * @param key 键
+     * @param val 值
+     * @param i   键的起始位置
+     * @param hi  区间的末尾，不包含
+     * @return 新插入时为 1，更新已有的键时为 0，没有空位置时为 -1
+     */
+    private int insertRange(Key key, Value val, int i, int hi) {
+        for (; keys[i] != null; i++) {
+            if (keys[i].equals(key)) {
+                vals[i] = val;
+                return 0;
+            }
+            if (i + 1 == hi) {
+                return -1;
+            }
+        }
+        keys[i] = key;
+        vals[i] = val;
+        return 1;
+    }
+
     /**
      * 获取散列表的大小
      *
@@ -82,7 +252,7 @@ public class LinearProbingHashST<Key, Value> {
      * @return 哈希值
      */
     private int hash(Key key) {
-        return (key.hashCode() & 0x7fffffff) % M;
+        return (hasher.hash(key) & 0x7fffffff) % M;
     }
 
     /**
@@ -91,7 +261,7 @@ public class LinearProbingHashST<Key, Value> {
      * @param cap 新的散列表大小
      */
     private void resize(int cap) {
-        LinearProbingHashST<Key, Value> t = new LinearProbingHashST<>(cap);
+        LinearProbingHashST<Key, Value> t = new LinearProbingHashST<>(cap, hasher);
         for (int i = 0; i < M; i++) {
             if (keys[i] != null) {
                 t.put(keys[i], vals[i]);
@@ -121,7 +291,16 @@ public class LinearProbingHashST<Key, Value> {
         if (N >= M / 2) {
             resize(2 * M);
         }
+        insert(key, val);
+    }
 
+    /**
+     * 插入或者更新键值对，不检查大小
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    private void insert(Key key, Value val) {
         /*
         对键值对的键生成哈希值，通过哈希值对数组进行索引，
         如果有冲突则进行线性探测，直到没有冲突
@@ -159,6 +338,66 @@ public class LinearProbingHashST<Key, Value> {
         return null;
     }
 
+    /**
+     * 批量查找，结果依次写入 out
+     * <p>
+     * 每次处理 {@value #BATCH} 个键：先计算这一批键的哈希值，再读取每个键起始位置上的键并与之比较，
+     * 最后为起始位置上不是目标键的键继续探测。
+     * 同一阶段中的内存访问互不依赖，处理器可以同时等待多次缓存未命中，而不是逐个键地串行等待
+     *
+     * @param keys 查找的键
+     * @param out  查找到的值，不存在时为 null，长度不小于 keys
+     */
+    public void getAll(Key[] keys, Value[] out) {
+        if (keys == null || out == null) {
+            throw new IllegalArgumentException("argument to getAll() is null");
+        }
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("output array is shorter than keys");
+        }
+        int[] homes = new int[BATCH];
+        Object[] first = new Object[BATCH];
+        for (int from = 0; from < keys.length; from += BATCH) {
+            int count = Math.min(BATCH, keys.length - from);
+            for (int j = 0; j < count; j++) {
+                Key key = keys[from + j];
+                if (key == null) {
+                    throw new IllegalArgumentException("key at index " + (from + j) + " is null");
+                }
+                homes[j] = hash(key);
+            }
+            for (int j = 0; j < count; j++) {
+                first[j] = this.keys[homes[j]];
+            }
+            // 多数键在起始位置上就能确定结果，这些比较之间互不依赖
+            for (int j = 0; j < count; j++) {
+                if (first[j] == null) {
+                    homes[j] = -1;
+                } else if (first[j].equals(keys[from + j])) {
+                    out[from + j] = vals[homes[j]];
+                    homes[j] = -1;
+                }
+            }
+            for (int j = 0; j < count; j++) {
+                if (homes[j] < 0) {
+                    if (first[j] == null) {
+                        out[from + j] = null;
+                    }
+                    continue;
+                }
+                Key key = keys[from + j];
+                Value val = null;
+                for (int i = (homes[j] + 1) % M; this.keys[i] != null; i = (i + 1) % M) {
+                    if (this.keys[i].equals(key)) {
+                        val = vals[i];
+                        break;
+                    }
+                }
+                out[from + j] = val;
+            }
+        }
+    }
+
     /**
      * 通过键删除相应的键值对
      *
@@ -205,6 +444,20 @@ public class LinearProbingHashST<Key, Value> {
         assert check();
     }
 
+    /**
+     * 查找键时检查的位置数，包括最后检查到的键或者空位置
+     *
+     * @param key 键
+     * @return 检查的位置数
+     */
+    int probes(Key key) {
+        int count = 1;
+        for (int i = hash(key); keys[i] != null && !keys[i].equals(key); i = (i + 1) % M) {
+            count++;
+        }
+        return count;
+    }
+
     /**
      * 检查键在散列表中是否存在
      *
@@ -0,0 +1,318 @@
+package io.metatom.find;
+
+import java.util.Arrays;
+
+/**
+ * 键和值都是 long 的线性探测散列表
+ * <p>
+ * 与 {@link LinearProbingHashST} 相比，键和值直接存放在 long 数组中，没有装箱对象；
+ * 散列表的大小总是 2 的幂，对键做 MurmurHash3 的 fmix64 混合后用掩码代替取模，连续的键也能均匀分布。
+ * 0 作为空位置的标记，键 0 单独保存。删除时将之后同一簇中的键向前移动（backward shift），不需要墓碑，
+ * 查找失败时探测的长度不会因为删除而增加
+ *
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+@SuppressWarnings("DuplicatedCode")
+public class LongLongMap {
+    /**
+     * 默认初始化的大小
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     * 空位置的标记
+     */
+    private static final long EMPTY = 0;
+    /**
+     * 存放键的数组
+     */
+    private long[] keys;
+    /**
+     * 存放值的数组
+     */
+    private long[] vals;
+    /**
+     * 散列表大小减 1
+     */
+    private int mask;
+    /**
+     * 数组中键值对的数量，不包括键 0
+     */
+    private int n;
+    /**
+     * 是否含有键 0
+     */
+    private boolean hasZeroKey;
+    /**
+     * 键 0 对应的值
+     */
+    private long zeroValue;
+
+    /**
+     * 构造方法
+     */
+    public LongLongMap() {
+        this(INIT_CAPACITY / 2);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param expected 预计的键值对数量，放入这么多键值对之前不会扩容
+     */
+    public LongLongMap(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("expected size is negative: " + expected);
+        }
+        allocate(capacityFor(expected));
+    }
+
+    /**
+     * 计算能够容纳指定数量的键值对的散列表大小
+     *
+     * @param expected 键值对的数量
+     * @return 2 的幂
+     */
+    static int capacityFor(int expected) {
+        int cap = INIT_CAPACITY;
+        // 与 put 中的扩容条件一致：最多容纳 3/4 的 (cap - 1)
+        while ((cap - 1) - ((cap - 1) >>> 2) < expected) {
+            if (cap == 1 << 30) {
+                throw new IllegalArgumentException("expected size too large: " + expected);
+            }
+            cap <<= 1;
+        }
+        return cap;
+    }
+
+    /**
+     * 分配指定大小的数组
+     *
+     * @param cap 散列表大小，2 的幂
+     */
+    private void allocate(int cap) {
+        keys = new long[cap];
+        vals = new long[cap];
+        mask = cap - 1;
+    }
+
+    /**
+     * MurmurHash3 的 fmix64 混合函数，取低 32 位
+     *
+     * @param key 键
+     * @return 混合后的哈希值
+     */
+    static int mix(long key) {
+        return (int) mix64(key);
+    }
+
+    /**
+     * MurmurHash3 的 fmix64 混合函数
+     *
+     * @param key 键
+     * @return 混合后的 64 位哈希值
+     */
+    static long mix64(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 获取键值对的数量
+     *
+     * @return 键值对的数量
+     */
+    public int size() {
+        return hasZeroKey ? n + 1 : n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 查找键所在的位置
+     *
+     * @param key 非 0 的键
+     * @return 位置，不存在时为 -1
+     */
+    private int indexOf(long key) {
+        for (int i = mix(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key          查找的键
+     * @param defaultValue 键不存在时返回的值
+     * @return 查找到的值
+     */
+    public long get(long key, long defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : vals[i];
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(long key) {
+        return key == EMPTY ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * 添加新的键值对，键已经存在时更新值
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    public void put(long key, long val) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = val;
+            return;
+        }
+        int i;
+        for (i = mix(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                vals[i] = val;
+                return;
+            }
+        }
+        keys[i] = key;
+        vals[i] = val;
+        // 装载因子超过 3/4 时扩容
+        if (++n > mask - (mask >>> 2)) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(long key) {
+        if (key == EMPTY) {
+            hasZeroKey = false;
+            zeroValue = 0;
+            return;
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return;
+        }
+        // 向前移动之后同一簇中的键，直到遇到空位置
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            // 键的起始位置不在 (i, j] 中时才可以移动到 i
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                vals[i] = vals[j];
+                i = j;
+            }
+        }
+        keys[i] = EMPTY;
+        vals[i] = 0;
+        n--;
+        if (keys.length > INIT_CAPACITY && n <= keys.length / 8) {
+            resize(keys.length / 2);
+        }
+    }
+
+    /**
+     * 改变散列表的大小
+     *
+     * @param cap 新的散列表大小，2 的幂
+     */
+    private void resize(int cap) {
+        long[] oldKeys = keys;
+        long[] oldVals = vals;
+        allocate(cap);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int j = mix(key) & mask;
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                vals[j] = oldVals[i];
+            }
+        }
+    }
+
+    /**
+     * 获取所有的键
+     *
+     * @return 键的数组，顺序不确定
+     */
+    public long[] keys() {
+        long[] a = new long[size()];
+        int k = 0;
+        if (hasZeroKey) {
+            a[k++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                a[k++] = key;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * 删除所有的键值对
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(vals, 0);
+        n = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        LongLongMap map = new LongLongMap();
+        for (long i = 0; i < count; i++) {
+            map.put(i << 32, i);
+        }
+        for (long i = 0; i < count; i += 2) {
+            map.delete(i << 32);
+        }
+        long sum = 0;
+        for (long i = 0; i < count; i++) {
+            sum += map.get(i << 32, 0);
+        }
+        System.out.println("size = " + map.size() + ", sum = " + sum);
+    }
+}
@@ -0,0 +1,239 @@
+package io.metatom.find;
+
+import java.util.Arrays;
+
+/**
+ * 键为 long 的线性探测散列表
+ * <p>
+ * 键存放在 long 数组中，没有装箱对象；散列表的大小总是 2 的幂，对键做 MurmurHash3 的 fmix64 混合后用掩码代替取模。
+ * 值不能为 null，因此值为 null 的位置就是空位置，任何 long 都可以作为键。
+ * 删除时将之后同一簇中的键向前移动（backward shift），不需要墓碑
+ *
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@SuppressWarnings("DuplicatedCode")
+public class LongObjectMap<Value> {
+    /**
+     * 默认初始化的大小
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     * 存放键的数组
+     */
+    private long[] keys;
+    /**
+     * 存放值的数组，null 表示空位置
+     */
+    private Value[] vals;
+    /**
+     * 散列表大小减 1
+     */
+    private int mask;
+    /**
+     * 键值对的数量
+     */
+    private int n;
+
+    /**
+     * 构造方法
+     */
+    public LongObjectMap() {
+        this(INIT_CAPACITY / 2);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param expected 预计的键值对数量，放入这么多键值对之前不会扩容
+     */
+    public LongObjectMap(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("expected size is negative: " + expected);
+        }
+        allocate(LongLongMap.capacityFor(expected));
+    }
+
+    /**
+     * 分配指定大小的数组
+     *
+     * @param cap 散列表大小，2 的幂
+     */
+    private void allocate(int cap) {
+        keys = new long[cap];
+        vals = (Value[]) new Object[cap];
+        mask = cap - 1;
+    }
+
+    /**
+     * 获取键值对的数量
+     *
+     * @return 键值对的数量
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值，不存在时为 null
+     */
+    public Value get(long key) {
+        for (int i = LongLongMap.mix(key) & mask; vals[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return vals[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 添加新的键值对，值为 null 时删除该键
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    public void put(long key, Value val) {
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        int i;
+        for (i = LongLongMap.mix(key) & mask; vals[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                vals[i] = val;
+                return;
+            }
+        }
+        keys[i] = key;
+        vals[i] = val;
+        // 装载因子超过 3/4 时扩容
+        if (++n > mask - (mask >>> 2)) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(long key) {
+        int i = LongLongMap.mix(key) & mask;
+        while (vals[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (vals[i] == null) {
+            return;
+        }
+        // 向前移动之后同一簇中的键，直到遇到空位置
+        for (int j = (i + 1) & mask; vals[j] != null; j = (j + 1) & mask) {
+            int home = LongLongMap.mix(keys[j]) & mask;
+            // 键的起始位置不在 (i, j] 中时才可以移动到 i
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                vals[i] = vals[j];
+                i = j;
+            }
+        }
+        keys[i] = 0;
+        vals[i] = null;
+        n--;
+        if (keys.length > INIT_CAPACITY && n <= keys.length / 8) {
+            resize(keys.length / 2);
+        }
+    }
+
+    /**
+     * 改变散列表的大小
+     *
+     * @param cap 新的散列表大小，2 的幂
+     */
+    private void resize(int cap) {
+        long[] oldKeys = keys;
+        Value[] oldVals = vals;
+        allocate(cap);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldVals[i] != null) {
+                int j = LongLongMap.mix(oldKeys[i]) & mask;
+                while (vals[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                vals[j] = oldVals[i];
+            }
+        }
+    }
+
+    /**
+     * 获取所有的键
+     *
+     * @return 键的数组，顺序不确定
+     */
+    public long[] keys() {
+        long[] a = new long[n];
+        for (int i = 0, k = 0; i < keys.length; i++) {
+            if (vals[i] != null) {
+                a[k++] = keys[i];
+            }
+        }
+        return a;
+    }
+
+    /**
+     * 删除所有的键值对
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(vals, null);
+        n = 0;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long i = 0; i < count; i++) {
+            map.put(i << 32, Long.toString(i));
+        }
+        for (long i = 0; i < count; i += 2) {
+            map.delete(i << 32);
+        }
+        int found = 0;
+        for (long i = 0; i < count; i++) {
+            if (map.contains(i << 32)) {
+                found++;
+            }
+        }
+        System.out.println("size = " + map.size() + ", found = " + found + ", get(1 << 32) = " + map.get(1L << 32));
+    }
+}
@@ -0,0 +1,491 @@
+package io.metatom.find;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 存放在堆外内存中的线性探测散列表
+ * <p>
+ * 键和值都是定长的字节数组，全部存放在直接内存（direct ByteBuffer）中，堆上只有少量的段对象，
+ * 因此无论存放多少键值对都不会增加 GC 扫描和复制的负担。每个位置依次存放 4 字节的标记、键和值，
+ * 标记为键的哈希值并置最高位，0 表示空位置，比较键之前先比较标记。
+ * 单个 ByteBuffer 最多 2GB，所以位置被分到多个大小相同的段中，段内的位置数为 2 的幂，
+ * 第 i 个位置位于第 i / segmentSlots 个段的 (i % segmentSlots) * slotSize 处。
+ * 散列表的大小为 2 的幂，装载因子超过 3/4 时扩容，删除时将之后同一簇中的键前移，不需要墓碑。
+ * 直接内存在 ByteBuffer 对象被回收时才会释放，总量受 -XX:MaxDirectMemorySize 限制
+ *
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class OffHeapHashST {
+    /**
+     * 默认初始化的大小
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     * 标记的字节数
+     */
+    private static final int TAG_BYTES = Integer.BYTES;
+    /**
+     * 每个段的最大字节数
+     */
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+    /**
+     * 以小端序从字节数组中读取 long
+     */
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    /**
+     * 键的字节数
+     */
+    private final int keyWidth;
+    /**
+     * 值的字节数
+     */
+    private final int valueWidth;
+    /**
+     * 每个位置的字节数
+     */
+    private final int slotSize;
+    /**
+     * 每个段的位置数的对数
+     */
+    private final int segmentShift;
+    /**
+     * 存放位置的段
+     */
+    private ByteBuffer[] segments;
+    /**
+     * 散列表大小减 1
+     */
+    private long mask;
+    /**
+     * 键值对的数量
+     */
+    private long n;
+
+    /**
+     * 构造方法
+     *
+     * @param keyWidth   键的字节数
+     * @param valueWidth 值的字节数
+     */
+    public OffHeapHashST(int keyWidth, int valueWidth) {
+        this(keyWidth, valueWidth, INIT_CAPACITY);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param keyWidth   键的字节数
+     * @param valueWidth 值的字节数
+     * @param expected   预计的键值对数量，放入这么多键值对之前不会扩容
+     */
+    public OffHeapHashST(int keyWidth, int valueWidth, long expected) {
+        if (keyWidth <= 0 || valueWidth < 0) {
+            throw new IllegalArgumentException("illegal key or value width: " + keyWidth + ", " + valueWidth);
+        }
+        if (expected < 0) {
+            throw new IllegalArgumentException("expected size is negative: " + expected);
+        }
+        this.keyWidth = keyWidth;
+        this.valueWidth = valueWidth;
+        this.slotSize = TAG_BYTES + keyWidth + valueWidth;
+        if (slotSize > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("slot too large: " + slotSize + " bytes");
+        }
+        this.segmentShift = 31 - Integer.numberOfLeadingZeros(MAX_SEGMENT_BYTES / slotSize);
+        long cap = INIT_CAPACITY;
+        while (cap - (cap >>> 2) <= expected) {
+            cap <<= 1;
+        }
+        allocate(cap);
+    }
+
+    /**
+     * 分配指定大小的段
+     *
+     * @param cap 散列表大小，2 的幂
+     */
+    private void allocate(long cap) {
+        int perSegment = (int) Math.min(cap, 1L << segmentShift);
+        int count = (int) (cap / perSegment);
+        segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = ByteBuffer.allocateDirect(perSegment * slotSize);
+        }
+        mask = cap - 1;
+    }
+
+    /**
+     * 获取键值对的数量
+     *
+     * @return 键值对的数量
+     */
+    public long size() {
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 计算键的标记，最高位总是 1
+     *
+     * @param key 键
+     * @return 标记
+     */
+    private static int tag(byte[] key) {
+        return hash(key) | 0x80000000;
+    }
+
+    /**
+     * 字节数组的哈希函数
+     * <p>
+     * 按照 MurmurHash3 的方式每次混合 8 个字节，最后用 fmix64 混合。
+     * Arrays.hashCode 的 31 进制多项式对短的定长键冲突很多，不适合作为开放地址法的哈希函数
+     *
+     * @param key 键
+     * @return 哈希值
+     */
+    static int hash(byte[] key) {
+        long h = key.length;
+        int i = 0;
+        for (; i + Long.BYTES <= key.length; i += Long.BYTES) {
+            h ^= scramble((long) LONG.get(key, i));
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        if (i < key.length) {
+            long k = 0;
+            for (int shift = 0; i < key.length; i++, shift += 8) {
+                k |= (key[i] & 0xffL) << shift;
+            }
+            h ^= scramble(k);
+        }
+        return LongLongMap.mix(h);
+    }
+
+    /**
+     * 混合 8 个字节
+     *
+     * @param k 8 个字节组成的 long
+     * @return 混合后的值
+     */
+    private static long scramble(long k) {
+        k *= 0x87c37b91114253d5L;
+        k = Long.rotateLeft(k, 31);
+        return k * 0x4cf5ad432745937fL;
+    }
+
+    /**
+     * 根据标记计算起始位置，使用哈希值的低 31 位
+     *
+     * @param tag 标记
+     * @return 起始位置
+     */
+    private long home(int tag) {
+        return tag & 0x7fffffffL & mask;
+    }
+
+    /**
+     * 位置 i 所在的段
+     *
+     * @param i 位置
+     * @return 段
+     */
+    private ByteBuffer segment(long i) {
+        return segments[(int) (i >>> segmentShift)];
+    }
+
+    /**
+     * 位置 i 在段内的偏移量
+     *
+     * @param i 位置
+     * @return 偏移量
+     */
+    private int offset(long i) {
+        return (int) (i & ((1L << segmentShift) - 1)) * slotSize;
+    }
+
+    /**
+     * 检查键的长度
+     *
+     * @param key    键
+     * @param method 调用的方法名
+     */
+    private void checkKey(byte[] key, String method) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to " + method + "() is null");
+        }
+        if (key.length != keyWidth) {
+            throw new IllegalArgumentException("key must have " + keyWidth + " bytes: " + key.length);
+        }
+    }
+
+    /**
+     * 位置 i 上的键是否与指定的键相同
+     *
+     * @param buffer 位置所在的段
+     * @param offset 位置在段内的偏移量
+     * @param key    键
+     * @return {@code true} 相同
+     */
+    private static boolean keyEquals(ByteBuffer buffer, int offset, byte[] key) {
+        int base = offset + TAG_BYTES;
+        for (int j = 0; j < key.length; j++) {
+            if (buffer.get(base + j) != key[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 查找键所在的位置
+     *
+     * @param key 键
+     * @param tag 键的标记
+     * @return 位置，不存在时为 -1
+     */
+    private long indexOf(byte[] key, int tag) {
+        for (long i = home(tag); ; i = (i + 1) & mask) {
+            ByteBuffer buffer = segment(i);
+            int offset = offset(i);
+            int t = buffer.getInt(offset);
+            if (t == 0) {
+                return -1;
+            }
+            if (t == tag && keyEquals(buffer, offset, key)) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 值的副本，不存在时为 null
+     */
+    public byte[] get(byte[] key) {
+        byte[] val = new byte[valueWidth];
+        return get(key, val) ? val : null;
+    }
+
+    /**
+     * 通过键查找相应的值，并复制到指定的数组中，不分配新的对象
+     *
+     * @param key 查找的键
+     * @param dst 存放值的数组，长度至少为值的字节数
+     * @return {@code true} 键存在
+     * {@code false} 键不存在
+     */
+    public boolean get(byte[] key, byte[] dst) {
+        checkKey(key, "get");
+        long i = indexOf(key, tag(key));
+        if (i < 0) {
+            return false;
+        }
+        segment(i).get(offset(i) + TAG_BYTES + keyWidth, dst, 0, valueWidth);
+        return true;
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(byte[] key) {
+        checkKey(key, "contains");
+        return indexOf(key, tag(key)) >= 0;
+    }
+
+    /**
+     * 添加新的键值对，键已经存在时更新值
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值，为 null 时删除该键
+     */
+    public void put(byte[] key, byte[] val) {
+        checkKey(key, "put");
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        if (val.length != valueWidth) {
+            throw new IllegalArgumentException("value must have " + valueWidth + " bytes: " + val.length);
+        }
+        int tag = tag(key);
+        long i;
+        for (i = home(tag); ; i = (i + 1) & mask) {
+            ByteBuffer buffer = segment(i);
+            int offset = offset(i);
+            int t = buffer.getInt(offset);
+            if (t == 0) {
+                buffer.putInt(offset, tag);
+                buffer.put(offset + TAG_BYTES, key);
+                buffer.put(offset + TAG_BYTES + keyWidth, val);
+                break;
+            }
+            if (t == tag && keyEquals(buffer, offset, key)) {
+                buffer.put(offset + TAG_BYTES + keyWidth, val);
+                return;
+            }
+        }
+        // 装载因子超过 3/4 时扩容
+        if (++n > mask - (mask >>> 2)) {
+            resize((mask + 1) * 2);
+        }
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(byte[] key) {
+        checkKey(key, "delete");
+        long i = indexOf(key, tag(key));
+        if (i < 0) {
+            return;
+        }
+        // 向前移动之后同一簇中的键，直到遇到空位置
+        for (long j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            ByteBuffer buffer = segment(j);
+            int offset = offset(j);
+            int t = buffer.getInt(offset);
+            if (t == 0) {
+                break;
+            }
+            long home = home(t);
+            // 键的起始位置不在 (i, j] 中时才可以移动到 i
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                copySlot(buffer, offset, segment(i), offset(i));
+                i = j;
+            }
+        }
+        segment(i).putInt(offset(i), 0);
+        n--;
+    }
+
+    /**
+     * 复制一个位置上的全部内容
+     *
+     * @param src       源段
+     * @param srcOffset 源位置的偏移量
+     * @param dst       目标段
+     * @param dstOffset 目标位置的偏移量
+     */
+    private void copySlot(ByteBuffer src, int srcOffset, ByteBuffer dst, int dstOffset) {
+        dst.put(dstOffset, src, srcOffset, slotSize);
+    }
+
+    /**
+     * 改变散列表的大小，直接复制每个位置的内容到新的段中
+     *
+     * @param cap 新的散列表大小，2 的幂
+     */
+    private void resize(long cap) {
+        ByteBuffer[] old = segments;
+        long oldCap = mask + 1;
+        allocate(cap);
+        int oldShift = 31 - Integer.numberOfLeadingZeros(old[0].capacity() / slotSize);
+        for (long i = 0; i < oldCap; i++) {
+            ByteBuffer src = old[(int) (i >>> oldShift)];
+            int srcOffset = (int) (i & ((1L << oldShift) - 1)) * slotSize;
+            int t = src.getInt(srcOffset);
+            if (t == 0) {
+                continue;
+            }
+            long j = home(t);
+            while (segment(j).getInt(offset(j)) != 0) {
+                j = (j + 1) & mask;
+            }
+            copySlot(src, srcOffset, segment(j), offset(j));
+        }
+    }
+
+    /**
+     * 删除所有的键值对，保留已分配的内存
+     */
+    public void clear() {
+        for (long i = 0; i <= mask; i++) {
+            segment(i).putInt(offset(i), 0);
+        }
+        n = 0;
+    }
+
+    /**
+     * 获取所有的键，遍历时逐个从堆外复制，遍历期间修改散列表的结果是不确定的
+     *
+     * @return 键的集合
+     */
+    public Iterable<byte[]> keys() {
+        return () -> new Iterator<byte[]>() {
+            private long i = advance(0);
+
+            private long advance(long from) {
+                while (from <= mask && segment(from).getInt(offset(from)) == 0) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i <= mask;
+            }
+
+            @Override
+            public byte[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                byte[] key = new byte[keyWidth];
+                segment(i).get(offset(i) + TAG_BYTES, key);
+                i = advance(i + 1);
+                return key;
+            }
+        };
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        OffHeapHashST st = new OffHeapHashST(Long.BYTES, Long.BYTES);
+        ByteBuffer key = ByteBuffer.allocate(Long.BYTES);
+        ByteBuffer val = ByteBuffer.allocate(Long.BYTES);
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            st.put(key.putLong(0, i).array(), val.putLong(0, i * i).array());
+        }
+        for (long i = 0; i < count; i += 2) {
+            st.delete(key.putLong(0, i).array());
+        }
+        long sum = 0;
+        byte[] dst = new byte[Long.BYTES];
+        for (long i = 0; i < count; i++) {
+            if (st.get(key.putLong(0, i).array(), dst)) {
+                sum += ByteBuffer.wrap(dst).getLong();
+            }
+        }
+        System.out.printf("size = %d, sum = %d, %.1f ms%n", st.size(), sum, (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -16,11 +16,11 @@ import java.util.Objects;
  * @param <Key>   用作 key 的泛型类型
  * @param <Value> 用作 value 的泛型类型
  * @author igaozp
- * @version 1.1
+ * @version 1.2
  * @since 2017-07-07
  */
 @SuppressWarnings({"unused", "DuplicatedCode"})
-public class RedBlackBST<Key extends Comparable<Key>, Value> {
+public class RedBlackBST<Key extends Comparable<Key>, Value> implements SymbolTable<Key, Value> {
     /**
      * 红黑树节点颜色，使用 true 代表红色，false 代表黑色
      */
@@ -0,0 +1,314 @@
+package io.metatom.find;
+
+import io.metatom.base.Queue;
+
+/**
+ * 基于 Robin Hood 线性探测的散列表
+ * <p>
+ * 与 {@link LinearProbingHashST} 相同，发生冲突时依次检查下一个位置，但插入时如果当前位置上的键离自己的起始位置更近
+ * （探测长度更短），就把位置让给正在插入的键，再继续为被替换的键寻找位置，使所有键的探测长度趋于平均。
+ * 因此查找时一旦遇到探测长度比当前更短的键就可以确定目标键不存在，失败的查找不需要扫描到簇的末尾；
+ * 删除时将之后的键依次前移一位，直到遇到空位置或者位于起始位置的键，不需要重新插入。
+ * 散列表的大小总是 2 的幂，每个位置缓存键的哈希值，比较键和计算探测长度时不需要重新调用 hashCode
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+@SuppressWarnings("unused")
+public class RobinHoodHashST<Key, Value> implements SymbolTable<Key, Value> {
+    /**
+     * 默认初始化的大小
+     */
+    private static final int INIT_CAPACITY = 16;
+    /**
+     * 默认的装载因子
+     */
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    /**
+     * 键值对的数量
+     */
+    private int n;
+    /**
+     * 散列表大小减 1
+     */
+    private int mask;
+    /**
+     * 装载因子
+     */
+    private final double loadFactor;
+    /**
+     * 扩容的阈值
+     */
+    private int threshold;
+    /**
+     * 存放键的数组
+     */
+    private Key[] keys;
+    /**
+     * 存放值的数组
+     */
+    private Value[] vals;
+    /**
+     * 每个位置上的键的哈希值
+     */
+    private int[] hashes;
+
+    /**
+     * 构造方法
+     */
+    public RobinHoodHashST() {
+        this(INIT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param cap        散列表初始化大小，向上取整到 2 的幂
+     * @param loadFactor 装载因子，键值对数量超过 大小 * loadFactor 时扩容
+     */
+    public RobinHoodHashST(int cap, double loadFactor) {
+        if (cap < 0 || cap > 1 << 30) {
+            throw new IllegalArgumentException("capacity is out of range: " + cap);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("load factor must be between 0 and 1: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(Math.max(2, Integer.highestOneBit(Math.max(1, cap - 1)) << 1));
+    }
+
+    /**
+     * 分配指定大小的数组
+     *
+     * @param cap 散列表大小，2 的幂
+     */
+    private void allocate(int cap) {
+        keys = (Key[]) new Object[cap];
+        vals = (Value[]) new Object[cap];
+        hashes = new int[cap];
+        mask = cap - 1;
+        threshold = (int) Math.min(cap - 1, (long) (cap * loadFactor));
+    }
+
+    /**
+     * 获取散列表的大小
+     *
+     * @return 散列表的大小
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 哈希函数，混合 hashCode 的各位使掩码后的低位分布均匀
+     *
+     * @param key 键值对的键
+     * @return 哈希值
+     */
+    private static int hash(Object key) {
+        return IntIntMap.mix(key.hashCode());
+    }
+
+    /**
+     * 位置 i 上的键的探测长度
+     *
+     * @param i 位置
+     * @return 与起始位置的距离
+     */
+    private int distance(int i) {
+        return (i - hashes[i]) & mask;
+    }
+
+    /**
+     * 查找键所在的位置
+     *
+     * @param key 键
+     * @return 位置，不存在时为 -1
+     */
+    private int indexOf(Key key) {
+        int h = hash(key);
+        for (int i = h & mask, d = 0; keys[i] != null; i = (i + 1) & mask, d++) {
+            // 遇到探测长度更短的键，说明目标键不存在
+            if (d > distance(i)) {
+                return -1;
+            }
+            if (hashes[i] == h && keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        int i = indexOf(key);
+        return i < 0 ? null : vals[i];
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * 添加新的键值对
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            vals[i] = val;
+            return;
+        }
+        if (n >= threshold) {
+            resize(2 * (mask + 1));
+        }
+        insert(key, val, hash(key));
+        n++;
+    }
+
+    /**
+     * 插入不存在的键，沿途与探测长度更短的键交换位置
+     *
+     * @param key 键
+     * @param val 值
+     * @param h   键的哈希值
+     */
+    private void insert(Key key, Value val, int h) {
+        for (int i = h & mask, d = 0; ; i = (i + 1) & mask, d++) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                vals[i] = val;
+                hashes[i] = h;
+                return;
+            }
+            int existing = distance(i);
+            if (existing < d) {
+                Key k = keys[i];
+                Value v = vals[i];
+                int eh = hashes[i];
+                keys[i] = key;
+                vals[i] = val;
+                hashes[i] = h;
+                key = k;
+                val = v;
+                h = eh;
+                d = existing;
+            }
+        }
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return;
+        }
+        // 将之后探测长度不为 0 的键依次前移一位
+        int j = (i + 1) & mask;
+        while (keys[j] != null && distance(j) > 0) {
+            keys[i] = keys[j];
+            vals[i] = vals[j];
+            hashes[i] = hashes[j];
+            i = j;
+            j = (j + 1) & mask;
+        }
+        keys[i] = null;
+        vals[i] = null;
+        hashes[i] = 0;
+        n--;
+    }
+
+    /**
+     * 改变散列表的大小，直接将键插入新的数组
+     *
+     * @param cap 新的散列表大小，2 的幂
+     */
+    private void resize(int cap) {
+        Key[] oldKeys = keys;
+        Value[] oldVals = vals;
+        int[] oldHashes = hashes;
+        allocate(cap);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldVals[i], oldHashes[i]);
+            }
+        }
+    }
+
+    /**
+     * 获取哈希表键的集合
+     *
+     * @return 键的集合
+     */
+    public Iterable<Key> keys() {
+        Queue<Key> queue = new Queue<>();
+        for (Key key : keys) {
+            if (key != null) {
+                queue.enqueue(key);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * 最长的探测长度
+     *
+     * @return 最长的探测长度
+     */
+    int maxProbeLength() {
+        int max = 0;
+        for (int i = 0; i <= mask; i++) {
+            if (keys[i] != null) {
+                max = Math.max(max, distance(i));
+            }
+        }
+        return max;
+    }
+}
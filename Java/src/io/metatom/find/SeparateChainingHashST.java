@@ -7,16 +7,17 @@ import io.metatom.base.Queue;
 /**
  * 基于拉链法的散列表
  * <p>
- * 将数组中的每一元素指向一条链表，链表中的每一节点都存储了散列值为该元素的索引的键值对
+ * 将数组中的每一元素指向一条链表，链表中的每一节点都存储了散列值为该元素的索引的键值对。
+ * 默认直接使用键的 hashCode，可以传入 {@link Hashers} 中的哈希函数
  *
  * @param <Key>   泛型类型
  * @param <Value> 泛型类型
  * @author igaozp
- * @version 1.1
+ * @version 1.3
  * @since 2017-07-10
  */
 @SuppressWarnings({"unused", "DuplicatedCode"})
-public class SeparateChainingHashST<Key, Value> {
+public class SeparateChainingHashST<Key, Value> implements SymbolTable<Key, Value> {
     /**
      * 默认的初始化大小
      */
@@ -33,6 +34,10 @@ public class SeparateChainingHashST<Key, Value> {
      * 存放链表对象的数组
      */
     private SequentialSearchST<Key, Value>[] st;
+    /**
+     * 哈希函数
+     */
+    private final Hasher<? super Key> hasher;
 
     /**
      * 无参构造方法
@@ -41,12 +46,35 @@ public class SeparateChainingHashST<Key, Value> {
         this(INIT_CAPACITY);
     }
 
+    /**
+     * 带有参数的构造方法
+     *
+     * @param hasher 哈希函数
+     */
+    public SeparateChainingHashST(Hasher<? super Key> hasher) {
+        this(INIT_CAPACITY, hasher);
+    }
+
     /**
      * 带有参数的构造方法
      *
      * @param M 初始化的散列表大小
      */
     public SeparateChainingHashST(int M) {
+        this(M, Hashers.identity());
+    }
+
+    /**
+     * 带有参数的构造方法
+     *
+     * @param M      初始化的散列表大小
+     * @param hasher 哈希函数
+     */
+    public SeparateChainingHashST(int M, Hasher<? super Key> hasher) {
+        if (hasher == null) {
+            throw new IllegalArgumentException("hasher is null");
+        }
+        this.hasher = hasher;
         this.M = M;
         st = (SequentialSearchST<Key, Value>[]) new SequentialSearchST[M];
         for (int i = 0; i < M; i++) {
@@ -60,7 +88,7 @@ public class SeparateChainingHashST<Key, Value> {
      * @param chains 新的散列表的大小
      */
     private void resize(int chains) {
-        SeparateChainingHashST<Key, Value> temp = new SeparateChainingHashST<>(chains);
+        SeparateChainingHashST<Key, Value> temp = new SeparateChainingHashST<>(chains, hasher);
         for (int i = 0; i < M; i++) {
             for (Key key : st[i].keys()) {
                 temp.put(key, st[i].get(key));
@@ -78,7 +106,7 @@ public class SeparateChainingHashST<Key, Value> {
      * @return 哈希值
      */
     private int hash(Key key) {
-        return (key.hashCode() & 0x7fffffff) % M;
+        return (hasher.hash(key) & 0x7fffffff) % M;
     }
 
     /**
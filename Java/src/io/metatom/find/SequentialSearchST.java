@@ -12,11 +12,11 @@ import io.metatom.base.Queue;
  * @param <Key>   用于 key 的泛型类型
  * @param <Value> 用于 value 的泛型类型
  * @author igaozp
- * @version 1.0
+ * @version 1.1
  * @since 2017-07-04
  */
 @SuppressWarnings({"unused", "DuplicatedCode"})
-public class SequentialSearchST<Key, Value> {
+public class SequentialSearchST<Key, Value> implements SymbolTable<Key, Value> {
     /**
      * 表的元素数量
      */
@@ -0,0 +1,422 @@
+package io.metatom.find;
+
+import io.metatom.base.Queue;
+
+import java.util.Arrays;
+
+/**
+ * Swiss table 风格的开放寻址散列表
+ * <p>
+ * 每个位置对应一个控制字节：空位置为 {@code 0x80}，已删除为 {@code 0xfe}，有键时为哈希值的低 7 位。
+ * 每 8 个位置组成一组，一组的 8 个控制字节存放在一个 long 中，查找时用 SWAR（SIMD within a register）
+ * 的位运算一次比较整组的控制字节，只有低 7 位相同的位置才需要调用 equals，组内有空位置时查找结束，
+ * 否则按三角数序列探测下一组，组数为 2 的幂时可以遍历所有的组。
+ * 删除时如果所在的组中有空位置，说明没有查找会越过这一组，可以直接标记为空，否则标记为已删除
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+@SuppressWarnings("unused")
+public class SwissTableST<Key, Value> implements SymbolTable<Key, Value> {
+    /**
+     * 每组的位置数
+     */
+    private static final int GROUP = 8;
+    /**
+     * 空位置的控制字节
+     */
+    private static final long EMPTY = 0x80;
+    /**
+     * 已删除位置的控制字节
+     */
+    private static final long DELETED = 0xfe;
+    /**
+     * 每个字节的最低位
+     */
+    private static final long LSBS = 0x0101010101010101L;
+    /**
+     * 每个字节的最高位
+     */
+    private static final long MSBS = 0x8080808080808080L;
+    /**
+     * 全部为空的一组控制字节
+     */
+    private static final long EMPTY_GROUP = EMPTY * LSBS;
+    /**
+     * 键值对的数量
+     */
+    private int n;
+    /**
+     * 在需要重新散列之前还可以占用的空位置数，已删除的位置不会被计入
+     */
+    private int growthLeft;
+    /**
+     * 组数减 1
+     */
+    private int groupMask;
+    /**
+     * 控制字节，第 g 组的 8 个控制字节按从低到高的顺序存放在 ctrl[g] 中
+     */
+    private long[] ctrl;
+    /**
+     * 存放键的数组
+     */
+    private Key[] keys;
+    /**
+     * 存放值的数组
+     */
+    private Value[] vals;
+
+    /**
+     * 构造方法
+     */
+    public SwissTableST() {
+        this(GROUP);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param cap 散列表初始化的位置数，向上取整到 8 乘以 2 的幂
+     */
+    public SwissTableST(int cap) {
+        if (cap < 0 || cap > 1 << 30) {
+            throw new IllegalArgumentException("capacity is out of range: " + cap);
+        }
+        int groups = Math.max(1, (cap + GROUP - 1) / GROUP);
+        allocate(groups == 1 ? 1 : Integer.highestOneBit(groups - 1) << 1);
+    }
+
+    /**
+     * 分配指定组数的数组
+     *
+     * @param groups 组数，2 的幂
+     */
+    private void allocate(int groups) {
+        ctrl = new long[groups];
+        Arrays.fill(ctrl, EMPTY_GROUP);
+        keys = (Key[]) new Object[groups * GROUP];
+        vals = (Value[]) new Object[groups * GROUP];
+        groupMask = groups - 1;
+        // 最多占用 7/8 的位置，保证每条探测序列上都有空位置
+        growthLeft = groups * GROUP - groups;
+    }
+
+    /**
+     * 获取散列表的大小
+     *
+     * @return 散列表的大小
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 检查散列表是否为空
+     *
+     * @return {@code true} 散列表为空
+     * {@code false} 散列表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 哈希函数，混合 hashCode 的各位；低 7 位存入控制字节，其余位选择起始的组
+     *
+     * @param key 键值对的键
+     * @return 哈希值
+     */
+    private static int hash(Object key) {
+        return IntIntMap.mix(key.hashCode());
+    }
+
+    /**
+     * 组内控制字节等于 b 的位置，每个匹配的位置对应结果中该字节的最高位。
+     * 结果可能包含紧邻在真正匹配之后的误报，调用者需要比较键
+     *
+     * @param group 一组控制字节
+     * @param b     要匹配的控制字节
+     * @return 匹配位置的掩码
+     */
+    private static long match(long group, long b) {
+        long x = group ^ (b * LSBS);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * 组内的空位置
+     *
+     * @param group 一组控制字节
+     * @return 空位置的掩码
+     */
+    private static long matchEmpty(long group) {
+        // 只有空位置的最高位为 1 且第 1 位为 0
+        return group & ~group << 6 & MSBS;
+    }
+
+    /**
+     * 组内的空位置和已删除的位置
+     *
+     * @param group 一组控制字节
+     * @return 空位置和已删除位置的掩码
+     */
+    private static long matchEmptyOrDeleted(long group) {
+        // 只有空位置和已删除位置的最高位为 1 且第 0 位为 0
+        return group & ~group << 7 & MSBS;
+    }
+
+    /**
+     * 掩码中最低的匹配位置在组内的下标
+     *
+     * @param mask 匹配位置的掩码
+     * @return 组内的下标
+     */
+    private static int lowest(long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    /**
+     * 设置控制字节
+     *
+     * @param i 位置
+     * @param b 控制字节
+     */
+    private void setCtrl(int i, long b) {
+        int shift = (i & (GROUP - 1)) << 3;
+        int g = i / GROUP;
+        ctrl[g] = ctrl[g] & ~(0xffL << shift) | b << shift;
+    }
+
+    /**
+     * 查找键所在的位置
+     *
+     * @param key 键
+     * @param h   键的哈希值
+     * @return 键所在的位置，不存在时为 -1
+     */
+    private int indexOf(Object key, int h) {
+        long h2 = h & 0x7f;
+        for (int g = (h >>> 7) & groupMask, step = 1; ; g = (g + step++) & groupMask) {
+            long group = ctrl[g];
+            for (long m = match(group, h2); m != 0; m &= m - 1) {
+                int i = g * GROUP + lowest(m);
+                if (key.equals(keys[i])) {
+                    return i;
+                }
+            }
+            if (matchEmpty(group) != 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 沿探测序列找到第一个空位置或者已删除的位置
+     *
+     * @param h 键的哈希值
+     * @return 位置
+     */
+    private int findInsertSlot(int h) {
+        for (int g = (h >>> 7) & groupMask, step = 1; ; g = (g + step++) & groupMask) {
+            long m = matchEmptyOrDeleted(ctrl[g]);
+            if (m != 0) {
+                return g * GROUP + lowest(m);
+            }
+        }
+    }
+
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        int i = indexOf(key, hash(key));
+        return i < 0 ? null : vals[i];
+    }
+
+    /**
+     * 检查键在散列表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return indexOf(key, hash(key)) >= 0;
+    }
+
+    /**
+     * 添加新的键值对
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        int h = hash(key);
+        int i = indexOf(key, h);
+        if (i >= 0) {
+            vals[i] = val;
+            return;
+        }
+        i = findInsertSlot(h);
+        if (growthLeft == 0 && ctrlAt(i) == EMPTY) {
+            // 已删除的位置较多时原地重新散列，否则扩容
+            int groups = groupMask + 1;
+            resize(n < (groups * GROUP - groups) / 2 ? groups : 2 * groups);
+            i = findInsertSlot(h);
+        }
+        if (ctrlAt(i) == EMPTY) {
+            growthLeft--;
+        }
+        setCtrl(i, h & 0x7f);
+        keys[i] = key;
+        vals[i] = val;
+        n++;
+    }
+
+    /**
+     * 获取位置上的控制字节
+     *
+     * @param i 位置
+     * @return 控制字节
+     */
+    private long ctrlAt(int i) {
+        return ctrl[i / GROUP] >>> ((i & (GROUP - 1)) << 3) & 0xff;
+    }
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        int i = indexOf(key, hash(key));
+        if (i < 0) {
+            return;
+        }
+        keys[i] = null;
+        vals[i] = null;
+        n--;
+        // 组内有空位置时任何查找都会在这一组结束，可以直接标记为空
+        if (matchEmpty(ctrl[i / GROUP]) != 0) {
+            setCtrl(i, EMPTY);
+            growthLeft++;
+        } else {
+            setCtrl(i, DELETED);
+        }
+        if (groupMask > 0 && n <= keys.length / 8) {
+            resize((groupMask + 1) / 2);
+        }
+    }
+
+    /**
+     * 改变散列表的大小，同时清除已删除的位置
+     *
+     * @param groups 新的组数，2 的幂
+     */
+    private void resize(int groups) {
+        Key[] oldKeys = keys;
+        Value[] oldVals = vals;
+        allocate(groups);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int h = hash(oldKeys[i]);
+                int j = findInsertSlot(h);
+                setCtrl(j, h & 0x7f);
+                keys[j] = oldKeys[i];
+                vals[j] = oldVals[i];
+                growthLeft--;
+            }
+        }
+    }
+
+    /**
+     * 获取哈希表键的集合
+     *
+     * @return 键的集合
+     */
+    public Iterable<Key> keys() {
+        Queue<Key> queue = new Queue<>();
+        for (Key key : keys) {
+            if (key != null) {
+                queue.enqueue(key);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * 已删除的位置数
+     *
+     * @return 已删除的位置数
+     */
+    private int tombstones() {
+        int count = 0;
+        for (int i = 0; i < ctrl.length * GROUP; i++) {
+            if (ctrlAt(i) == DELETED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 单元测试，在大小不变的散列表上反复删除旧键、插入新键，观察已删除位置的复用和原地重新散列
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        SwissTableST<Integer, Integer> st = new SwissTableST<>();
+        for (int i = 0; i < count; i++) {
+            st.put(i, i);
+        }
+        System.out.printf("%d keys in %d slots%n", st.size(), st.ctrl.length * GROUP);
+        for (int round = 1; round <= 6; round++) {
+            // 删除最旧的 10 * count 个键，同时插入同样数量的新键，键的数量保持不变
+            int grows = 0;
+            int rehashes = 0;
+            for (int i = (round - 1) * 10 * count; i < round * 10 * count; i++) {
+                st.delete(i);
+                int groups = st.ctrl.length;
+                int growthLeft = st.growthLeft;
+                st.put(i + count, i + count);
+                if (st.ctrl.length != groups) {
+                    grows++;
+                } else if (st.growthLeft > growthLeft) {
+                    rehashes++;
+                }
+            }
+            int found = 0;
+            for (int i = round * 10 * count; i < round * 10 * count + count; i++) {
+                if (st.contains(i)) {
+                    found++;
+                }
+            }
+            System.out.printf("round %d: %d slots, %d grows, %d in-place rehashes, %d tombstones, %d of %d keys found%n",
+                    round, st.ctrl.length * GROUP, grows, rehashes, st.tombstones(), found, st.size());
+        }
+    }
+}
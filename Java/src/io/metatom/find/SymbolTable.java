@@ -0,0 +1,73 @@
+package io.metatom.find;
+
+/**
+ * 符号表
+ * <p>
+ * 本包中的符号表（有序的和无序的）都实现了这个接口，便于 {@link FilteredST} 之类的包装类适配任意的符号表。
+ * 键不能为 null，值为 null 表示键不存在
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface SymbolTable<Key, Value> {
+    /**
+     * 通过键查找相应的值
+     *
+     * @param key 查找的键
+     * @return 查找到的值，不存在时为 null
+     */
+    Value get(Key key);
+
+    /**
+     * 添加新的键值对，值为 null 时删除该键
+     *
+     * @param key 键值对的键
+     * @param val 键值对的值
+     */
+    void put(Key key, Value val);
+
+    /**
+     * 通过键删除相应的键值对
+     *
+     * @param key 删除的键值对的键
+     */
+    void delete(Key key);
+
+    /**
+     * 获取键值对的数量
+     *
+     * @return 键值对的数量
+     */
+    int size();
+
+    /**
+     * 获取所有的键
+     *
+     * @return 键的集合
+     */
+    Iterable<Key> keys();
+
+    /**
+     * 检查键在符号表中是否存在
+     *
+     * @param key 需要检查的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    default boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 检查符号表是否为空
+     *
+     * @return {@code true} 符号表为空
+     * {@code false} 符号表不为空
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
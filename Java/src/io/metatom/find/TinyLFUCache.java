@@ -0,0 +1,253 @@
+package io.metatom.find;
+
+/**
+ * W-TinyLFU 淘汰策略的缓存
+ * <p>
+ * 缓存分为两部分：约占 1% 容量的窗口是一个 LRU，新的键总是先进入窗口；其余的主区是分段 LRU（SLRU），
+ * 由试用段和占主区 80% 的保护段组成，试用段中的键再次被访问时晋升到保护段，保护段满时最久没有访问的键降回试用段。
+ * 窗口淘汰出的候选键只有在 {@link FrequencySketch} 估计的访问频率高于试用段尾部的键时才能进入主区，否则被丢弃，
+ * 因此偶尔访问一次的键（例如一次扫描）不会把经常访问的键挤出缓存，而窗口又让突发的新键有机会积累访问次数。
+ * get 和 put 都计入访问频率，只通过 put 写入的键也能进入主区
+ *
+ * @param <Key>   泛型类型
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class TinyLFUCache<Key, Value> implements Cache<Key, Value> {
+    /**
+     * 节点在窗口中
+     */
+    private static final int WINDOW = 0;
+    /**
+     * 节点在试用段中
+     */
+    private static final int PROBATION = 1;
+    /**
+     * 节点在保护段中
+     */
+    private static final int PROTECTED = 2;
+    /**
+     * 缓存的容量
+     */
+    private final int capacity;
+    /**
+     * 窗口的容量
+     */
+    private final int windowCapacity;
+    /**
+     * 保护段的容量
+     */
+    private final int protectedCapacity;
+    /**
+     * 键到链表节点的映射，节点的 tag 为所在的链表
+     */
+    private final RobinHoodHashST<Key, CacheList.Node<Key, Value>> index;
+    /**
+     * 窗口
+     */
+    private final CacheList<Key, Value> window = new CacheList<>();
+    /**
+     * 试用段
+     */
+    private final CacheList<Key, Value> probation = new CacheList<>();
+    /**
+     * 保护段
+     */
+    private final CacheList<Key, Value> protect = new CacheList<>();
+    /**
+     * 访问频率的估计
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * 构造方法
+     *
+     * @param capacity 缓存的容量
+     */
+    public TinyLFUCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.protectedCapacity = (int) ((capacity - windowCapacity) * 8L / 10);
+        this.index = LRUCache.newIndex(capacity);
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    /**
+     * 节点所在的链表
+     *
+     * @param x 节点
+     * @return 链表
+     */
+    private CacheList<Key, Value> listOf(CacheList.Node<Key, Value> x) {
+        return x.tag == WINDOW ? window : x.tag == PROBATION ? probation : protect;
+    }
+
+    /**
+     * 记录一次命中
+     *
+     * @param x 节点
+     */
+    private void touch(CacheList.Node<Key, Value> x) {
+        if (x.tag != PROBATION) {
+            listOf(x).moveToFront(x);
+            return;
+        }
+        // 试用段中的键晋升到保护段，保护段满时把最久没有访问的键降回试用段
+        probation.remove(x);
+        x.tag = PROTECTED;
+        protect.addFirst(x);
+        if (protect.size() > protectedCapacity) {
+            CacheList.Node<Key, Value> demoted = protect.last();
+            protect.remove(demoted);
+            demoted.tag = PROBATION;
+            probation.addFirst(demoted);
+        }
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        sketch.increment(key);
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x == null) {
+            return null;
+        }
+        touch(x);
+        return x.val;
+    }
+
+    @Override
+    public void put(Key key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            throw new IllegalArgumentException("second argument to put() is null");
+        }
+        sketch.increment(key);
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x != null) {
+            x.val = val;
+            touch(x);
+            return;
+        }
+        x = new CacheList.Node<>(key, val);
+        x.tag = WINDOW;
+        window.addFirst(x);
+        index.put(key, x);
+        if (window.size() > windowCapacity) {
+            CacheList.Node<Key, Value> candidate = window.last();
+            window.remove(candidate);
+            admit(candidate);
+        }
+    }
+
+    /**
+     * 处理窗口淘汰出的候选键：主区未满时直接进入试用段，否则与试用段尾部的键比较访问频率，淘汰较低的一个
+     *
+     * @param candidate 候选键
+     */
+    private void admit(CacheList.Node<Key, Value> candidate) {
+        if (probation.size() + protect.size() < capacity - windowCapacity) {
+            candidate.tag = PROBATION;
+            probation.addFirst(candidate);
+            return;
+        }
+        CacheList.Node<Key, Value> victim = probation.isEmpty() ? protect.last() : probation.last();
+        if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+            index.delete(candidate.key);
+            return;
+        }
+        listOf(victim).remove(victim);
+        index.delete(victim.key);
+        candidate.tag = PROBATION;
+        probation.addFirst(candidate);
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        CacheList.Node<Key, Value> x = index.get(key);
+        if (x != null) {
+            listOf(x).remove(x);
+            index.delete(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protect.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        TinyLFUCache<Integer, Integer> cache = new TinyLFUCache<>(100);
+        // 经常访问的键
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        // 一次扫描
+        for (int i = 1000; i < 2000; i++) {
+            if (cache.get(i) == null) {
+                cache.put(i, i);
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(i) != null) {
+                kept++;
+            }
+        }
+        System.out.println("size = " + cache.size() + ", frequent keys kept after scan = " + kept);
+
+        // 只通过 put 写入：先用只写入一次的键填满缓存，再让 10 个经常写入的键与只写入一次的键交替出现
+        TinyLFUCache<Integer, Integer> tinyLfu = new TinyLFUCache<>(100);
+        LRUCache<Integer, Integer> lru = new LRUCache<>(100);
+        int cold = 1000;
+        for (; cold < 1200; cold++) {
+            tinyLfu.put(cold, cold);
+            lru.put(cold, cold);
+        }
+        for (int i = 0; i < 10000; i++) {
+            tinyLfu.put(i % 10, i);
+            lru.put(i % 10, i);
+            for (int k = 0; k < 5; k++, cold++) {
+                tinyLfu.put(cold, cold);
+                lru.put(cold, cold);
+            }
+        }
+        int tinyLfuKept = 0;
+        int lruKept = 0;
+        for (int i = 0; i < 10; i++) {
+            if (tinyLfu.get(i) != null) {
+                tinyLfuKept++;
+            }
+            if (lru.get(i) != null) {
+                lruKept++;
+            }
+        }
+        System.out.println("put-only hot keys kept: TinyLFUCache " + tinyLfuKept + "/10, LRUCache " + lruKept + "/10");
+    }
+}
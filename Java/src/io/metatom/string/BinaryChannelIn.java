@@ -0,0 +1,205 @@
+package io.metatom.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * 基于 NIO 通道的比特输入流
+ * <p>
+ * 与 BinaryStdIn 类似，按照高位在前的顺序读取比特，
+ * 每次从缓冲区预读最多 64 位到一个 long 中，支持不消耗比特的 peek 操作，便于查表解码
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class BinaryChannelIn {
+    /**
+     * 缓冲区的大小
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * 输入的通道
+     */
+    private final ReadableByteChannel channel;
+    /**
+     * 字节缓冲区
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * 已预读的比特，右对齐
+     */
+    private long bits;
+    /**
+     * 已预读的比特数量
+     */
+    private int n;
+    /**
+     * 通道是否已经读完
+     */
+    private boolean eof;
+
+    /**
+     * 构造方法
+     *
+     * @param channel 输入的通道
+     */
+    public BinaryChannelIn(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("argument to BinaryChannelIn() is null");
+        }
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    /**
+     * 尽可能多地预读比特，直到超过 56 位或通道读完
+     *
+     * @throws IOException 读取通道失败
+     */
+    private void fill() throws IOException {
+        while (n <= 56) {
+            if (!buffer.hasRemaining()) {
+                if (eof) {
+                    return;
+                }
+                buffer.clear();
+                int read;
+                do {
+                    read = channel.read(buffer);
+                } while (read == 0);
+                buffer.flip();
+                if (read < 0) {
+                    eof = true;
+                    return;
+                }
+            }
+            bits = (bits << 8) | (buffer.get() & 0xff);
+            n += 8;
+        }
+    }
+
+    /**
+     * 检查输入流是否为空
+     *
+     * @return {@code true} 输入流为空
+     * {@code false} 输入流不为空
+     * @throws IOException 读取通道失败
+     */
+    public boolean isEmpty() throws IOException {
+        if (n == 0) {
+            fill();
+        }
+        return n == 0;
+    }
+
+    /**
+     * 查看接下来的 r 位，但不消耗它们，输入不足时以 0 补齐
+     *
+     * @param r 查看的比特数，1 到 32 之间
+     * @return 接下来的 r 位
+     * @throws IOException 读取通道失败
+     */
+    public int peek(int r) throws IOException {
+        if (n < r) {
+            fill();
+        }
+        if (n >= r) {
+            return (int) (bits >>> (n - r)) & (-1 >>> (32 - r));
+        }
+        return (int) (bits << (r - n)) & (-1 >>> (32 - r));
+    }
+
+    /**
+     * 跳过接下来的 r 位，r 不能超过之前 peek 返回的有效比特数
+     *
+     * @param r 跳过的比特数
+     */
+    public void skip(int r) {
+        if (r > n) {
+            throw new NoSuchElementException("Reading from empty input stream");
+        }
+        n -= r;
+    }
+
+    /**
+     * 读取一个比特
+     *
+     * @return 读取的比特
+     * @throws IOException 读取通道失败
+     */
+    public boolean readBoolean() throws IOException {
+        return readLong(1) == 1;
+    }
+
+    /**
+     * 读取 r 位并作为 long 返回
+     *
+     * @param r 读取的比特数，1 到 64 之间
+     * @return 读取的值
+     * @throws IOException 读取通道失败
+     */
+    public long readLong(int r) throws IOException {
+        if (r < 1 || r > 64) {
+            throw new IllegalArgumentException("Illegal value for r = " + r);
+        }
+        if (r > 32) {
+            long hi = readLong(r - 32);
+            return (hi << 32) | readLong(32);
+        }
+        if (n < r) {
+            fill();
+            if (n < r) {
+                throw new NoSuchElementException("Reading from empty input stream");
+            }
+        }
+        n -= r;
+        return (bits >>> n) & (-1L >>> (64 - r));
+    }
+
+    /**
+     * 读取 r 位并作为 int 返回
+     *
+     * @param r 读取的比特数，1 到 32 之间
+     * @return 读取的值
+     * @throws IOException 读取通道失败
+     */
+    public int readInt(int r) throws IOException {
+        if (r > 32) {
+            throw new IllegalArgumentException("Illegal value for r = " + r);
+        }
+        return (int) readLong(r);
+    }
+
+    /**
+     * 读取一个字节
+     *
+     * @return 读取的字节
+     * @throws IOException 读取通道失败
+     */
+    public byte readByte() throws IOException {
+        return (byte) readLong(8);
+    }
+
+    /**
+     * 读取一个 32 位整数
+     *
+     * @return 读取的整数
+     * @throws IOException 读取通道失败
+     */
+    public int readInt() throws IOException {
+        return (int) readLong(32);
+    }
+
+    /**
+     * 读取一个 64 位整数
+     *
+     * @return 读取的整数
+     * @throws IOException 读取通道失败
+     */
+    public long readLong() throws IOException {
+        return readLong(64);
+    }
+}
@@ -0,0 +1,150 @@
+package io.metatom.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 基于 NIO 通道的比特输出流
+ * <p>
+ * 与 BinaryStdOut 类似，按照高位在前的顺序写入比特，
+ * 待写入的比特先积累在一个 long 中，满 32 位后整体写入缓冲区，缓冲区满后再写入通道
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class BinaryChannelOut {
+    /**
+     * 缓冲区的大小
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * 输出的通道
+     */
+    private final WritableByteChannel channel;
+    /**
+     * 字节缓冲区
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * 尚未写入缓冲区的比特，右对齐
+     */
+    private long bits;
+    /**
+     * 尚未写入缓冲区的比特数量
+     */
+    private int n;
+
+    /**
+     * 构造方法
+     *
+     * @param channel 输出的通道
+     */
+    public BinaryChannelOut(WritableByteChannel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("argument to BinaryChannelOut() is null");
+        }
+        this.channel = channel;
+    }
+
+    /**
+     * 写入一个比特
+     *
+     * @param bit 写入的比特
+     * @throws IOException 写入通道失败
+     */
+    public void write(boolean bit) throws IOException {
+        write(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * 写入 x 的低 r 位，高位在前
+     *
+     * @param x 写入的值
+     * @param r 写入的比特数，1 到 64 之间
+     * @throws IOException 写入通道失败
+     */
+    public void write(long x, int r) throws IOException {
+        if (r < 1 || r > 64) {
+            throw new IllegalArgumentException("Illegal value for r = " + r);
+        }
+        if (r > 32) {
+            write(x >>> 32, r - 32);
+            r = 32;
+        }
+        bits = (bits << r) | (x & (-1L >>> (64 - r)));
+        n += r;
+        if (n >= 32) {
+            if (buffer.remaining() < 4) {
+                drain();
+            }
+            buffer.putInt((int) (bits >>> (n - 32)));
+            n -= 32;
+        }
+    }
+
+    /**
+     * 写入一个字节
+     *
+     * @param x 写入的字节
+     * @throws IOException 写入通道失败
+     */
+    public void write(byte x) throws IOException {
+        write(x, 8);
+    }
+
+    /**
+     * 写入一个 32 位整数
+     *
+     * @param x 写入的整数
+     * @throws IOException 写入通道失败
+     */
+    public void write(int x) throws IOException {
+        write(x, 32);
+    }
+
+    /**
+     * 写入一个 64 位整数
+     *
+     * @param x 写入的整数
+     * @throws IOException 写入通道失败
+     */
+    public void write(long x) throws IOException {
+        write(x, 64);
+    }
+
+    /**
+     * 以 0 补齐到字节边界，并将缓冲区中的数据全部写入通道
+     *
+     * @throws IOException 写入通道失败
+     */
+    public void flush() throws IOException {
+        while (n > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            if (n >= 8) {
+                buffer.put((byte) (bits >>> (n - 8)));
+                n -= 8;
+            } else {
+                buffer.put((byte) (bits << (8 - n)));
+                n = 0;
+            }
+        }
+        drain();
+    }
+
+    /**
+     * 将缓冲区中的数据写入通道
+     *
+     * @throws IOException 写入通道失败
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,34 @@
+package io.metatom.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 分块压缩中单个块的编解码器
+ * <p>
+ * 实现需要是无状态的，同一个实例会被多个线程同时调用
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+interface BlockCodec {
+    /**
+     * 压缩一个块
+     *
+     * @param block 块数据，从 position 到 limit
+     * @return 压缩后的块
+     * @throws IOException 编码失败
+     */
+    byte[] compress(ByteBuffer block) throws IOException;
+
+    /**
+     * 解压一个块
+     *
+     * @param block 压缩后的块，从 position 到 limit
+     * @param raw   原始长度
+     * @return 解压后的块
+     * @throws IOException 解码失败
+     */
+    byte[] expand(ByteBuffer block, int raw) throws IOException;
+}
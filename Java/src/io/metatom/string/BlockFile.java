@@ -0,0 +1,236 @@
+package io.metatom.string;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 带索引的分块压缩文件
+ * <p>
+ * 输入被切分为固定大小的块，由 {@link BlockCodec} 在 ForkJoinPool 中并行压缩和解压，
+ * 并且可以通过索引随机访问任意一块。文件的格式为：
+ * <pre>
+ * 文件头：魔数（32 位）、块大小（32 位）、原始长度（64 位）、块数（32 位）
+ * 索引：每块一项，块数据的偏移（64 位）、压缩后长度（32 位）、原始长度（32 位）
+ * 块数据：由编解码器决定
+ * </pre>
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class BlockFile {
+    /**
+     * 文件头的字节数
+     */
+    private static final int HEADER_SIZE = 20;
+    /**
+     * 每个索引项的字节数
+     */
+    private static final int ENTRY_SIZE = 16;
+
+    private BlockFile() {
+    }
+
+    /**
+     * 压缩
+     * <p>
+     * 每次最多有线程池并行度的 4 倍个块在内存中，压缩完成的块按顺序写出，最后回填索引
+     *
+     * @param in        输入文件
+     * @param out       输出文件
+     * @param blockSize 块大小
+     * @param pool      执行压缩的线程池
+     * @param magic     文件格式的魔数
+     * @param codec     块的编解码器
+     * @throws IOException 读写失败
+     */
+    static void compress(FileChannel in, FileChannel out, int blockSize, ForkJoinPool pool,
+                         int magic, BlockCodec codec) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Illegal value for blockSize = " + blockSize);
+        }
+        long length = in.size();
+        long count = (length + blockSize - 1) / blockSize;
+        if (count > (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE) {
+            throw new IllegalArgumentException("too many blocks, use a larger block size");
+        }
+        int blocks = (int) count;
+
+        ByteBuffer index = ByteBuffer.allocate(HEADER_SIZE + blocks * ENTRY_SIZE);
+        index.putInt(magic).putInt(blockSize).putLong(length).putInt(blocks);
+        long offset = index.capacity();
+
+        int window = Math.max(1, pool.getParallelism() * 4);
+        for (int from = 0; from < blocks; from += window) {
+            int to = Math.min(blocks, from + window);
+            List<ForkJoinTask<byte[]>> tasks = new ArrayList<>();
+            for (int b = from; b < to; b++) {
+                long position = (long) b * blockSize;
+                int size = (int) Math.min(blockSize, length - position);
+                tasks.add(pool.submit(() -> {
+                    try {
+                        return codec.compress(read(in, position, size));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            for (int b = from; b < to; b++) {
+                byte[] data = join(tasks.get(b - from));
+                write(out, ByteBuffer.wrap(data), offset);
+                index.putLong(offset).putInt(data.length).putInt((int) Math.min(blockSize, length - (long) b * blockSize));
+                offset += data.length;
+            }
+        }
+
+        index.flip();
+        write(out, index, 0);
+    }
+
+    /**
+     * 解压
+     *
+     * @param in    压缩后的文件
+     * @param out   输出文件
+     * @param pool  执行解压的线程池
+     * @param magic 文件格式的魔数
+     * @param codec 块的编解码器
+     * @throws IOException 读写失败
+     */
+    static void expand(FileChannel in, FileChannel out, ForkJoinPool pool, int magic, BlockCodec codec) throws IOException {
+        ByteBuffer header = read(in, 0, HEADER_SIZE);
+        checkMagic(header, magic);
+        int blockSize = header.getInt();
+        header.getLong();
+        int blocks = header.getInt();
+        ByteBuffer index = read(in, HEADER_SIZE, blocks * ENTRY_SIZE);
+
+        int window = Math.max(1, pool.getParallelism() * 4);
+        for (int from = 0; from < blocks; from += window) {
+            int to = Math.min(blocks, from + window);
+            List<ForkJoinTask<Void>> tasks = new ArrayList<>();
+            for (int b = from; b < to; b++) {
+                long offset = index.getLong();
+                int size = index.getInt();
+                int raw = index.getInt();
+                long position = (long) b * blockSize;
+                tasks.add(pool.submit(() -> {
+                    try {
+                        byte[] data = codec.expand(read(in, offset, size), raw);
+                        write(out, ByteBuffer.wrap(data), position);
+                        return null;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            for (ForkJoinTask<Void> task : tasks) {
+                join(task);
+            }
+        }
+    }
+
+    /**
+     * 随机访问并解压指定的块，只读取文件头、该块的索引项和块数据
+     *
+     * @param in    压缩后的文件
+     * @param block 块的序号
+     * @param magic 文件格式的魔数
+     * @param codec 块的编解码器
+     * @return 解压后的块
+     * @throws IOException 读取失败
+     */
+    static byte[] expandBlock(FileChannel in, int block, int magic, BlockCodec codec) throws IOException {
+        int blocks = blocks(in, magic);
+        if (block < 0 || block >= blocks) {
+            throw new IllegalArgumentException("block " + block + " is not between 0 and " + (blocks - 1));
+        }
+        ByteBuffer entry = read(in, HEADER_SIZE + (long) block * ENTRY_SIZE, ENTRY_SIZE);
+        long offset = entry.getLong();
+        int size = entry.getInt();
+        int raw = entry.getInt();
+        return codec.expand(read(in, offset, size), raw);
+    }
+
+    /**
+     * 获取压缩文件中块的数量
+     *
+     * @param in    压缩后的文件
+     * @param magic 文件格式的魔数
+     * @return 块的数量
+     * @throws IOException 读取失败
+     */
+    static int blocks(FileChannel in, int magic) throws IOException {
+        ByteBuffer header = read(in, 0, HEADER_SIZE);
+        checkMagic(header, magic);
+        return header.getInt(16);
+    }
+
+    /**
+     * 检查文件头的魔数
+     *
+     * @param header 文件头
+     * @param magic  期望的魔数
+     */
+    private static void checkMagic(ByteBuffer header, int magic) {
+        if (header.getInt() != magic) {
+            throw new IllegalArgumentException("unexpected file format");
+        }
+    }
+
+    /**
+     * 等待任务完成，并将其中的 IO 异常还原
+     *
+     * @param task 等待的任务
+     * @param <T>  任务结果的类型
+     * @return 任务的结果
+     * @throws IOException 任务中的读写失败
+     */
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 从文件的指定位置读取指定长度的数据，可以被多个线程同时调用
+     *
+     * @param in       输入文件
+     * @param position 读取的位置
+     * @param size     读取的长度
+     * @return 读取的数据
+     * @throws IOException 读取失败
+     */
+    private static ByteBuffer read(FileChannel in, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 将数据写入文件的指定位置，可以被多个线程同时调用
+     *
+     * @param out      输出文件
+     * @param buffer   写入的数据
+     * @param position 写入的位置
+     * @throws IOException 写入失败
+     */
+    private static void write(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+    }
+}
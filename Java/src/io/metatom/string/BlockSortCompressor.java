@@ -0,0 +1,327 @@
+package io.metatom.string;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 块排序压缩
+ * <p>
+ * 与 bzip2 类似，每个块依次经过：
+ * <ol>
+ *     <li>{@link BurrowsWheeler} 变换</li>
+ *     <li>只包含块中出现过的字节的 {@link MoveToFront} 编码</li>
+ *     <li>0 的游程编码：游程长度使用 RUNA、RUNB 两个符号的双射二进制表示，其余位置加 1</li>
+ *     <li>长度受限的范式哈夫曼编码 {@link HuffmanCode}</li>
+ * </ol>
+ * 块中出现的字节超过 254 种时，加 1 后的位置无法放入一个字节，此时跳过游程编码。
+ * 各块之间相互独立，在 ForkJoinPool 中并行处理，文件格式见 {@link BlockFile}，每个块的数据为：
+ * 原始输入在排序后循环移位中的位置（32 位）、出现过的字节的位图（256 位）、
+ * 游程编码后的符号数（32 位），然后是哈夫曼编码的长度表和比特流
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class BlockSortCompressor {
+    /**
+     * 文件格式的魔数
+     */
+    private static final int MAGIC = 0x42575448;
+    /**
+     * 默认的块大小
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 900 * 1024;
+    /**
+     * 游程编码的两个符号
+     */
+    private static final int RUNA = 0;
+    private static final int RUNB = 1;
+    /**
+     * 使用游程编码时字母表的最大大小
+     */
+    private static final int MAX_RLE_ALPHABET = 254;
+    /**
+     * 块的编解码器
+     */
+    private static final BlockCodec CODEC = new BlockCodec() {
+        @Override
+        public byte[] compress(ByteBuffer block) throws IOException {
+            return compressBlock(block);
+        }
+
+        @Override
+        public byte[] expand(ByteBuffer block, int raw) throws IOException {
+            return expandBlock(block, raw);
+        }
+    };
+
+    /**
+     * 使用公共线程池和默认块大小压缩文件
+     *
+     * @param source 原始文件
+     * @param target 压缩后的文件
+     * @throws IOException 读写失败
+     */
+    public static void compress(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            compress(in, out, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+        }
+    }
+
+    /**
+     * 使用公共线程池解压文件
+     *
+     * @param source 压缩后的文件
+     * @param target 解压后的文件
+     * @throws IOException 读写失败
+     */
+    public static void expand(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            expand(in, out, ForkJoinPool.commonPool());
+        }
+    }
+
+    /**
+     * 压缩
+     *
+     * @param in        输入文件
+     * @param out       输出文件
+     * @param blockSize 块大小
+     * @param pool      执行压缩的线程池
+     * @throws IOException 读写失败
+     */
+    public static void compress(FileChannel in, FileChannel out, int blockSize, ForkJoinPool pool) throws IOException {
+        BlockFile.compress(in, out, blockSize, pool, MAGIC, CODEC);
+    }
+
+    /**
+     * 解压
+     *
+     * @param in   压缩后的文件
+     * @param out  输出文件
+     * @param pool 执行解压的线程池
+     * @throws IOException 读写失败
+     */
+    public static void expand(FileChannel in, FileChannel out, ForkJoinPool pool) throws IOException {
+        BlockFile.expand(in, out, pool, MAGIC, CODEC);
+    }
+
+    /**
+     * 随机访问并解压指定的块
+     *
+     * @param in    压缩后的文件
+     * @param block 块的序号
+     * @return 解压后的块
+     * @throws IOException 读取失败
+     */
+    public static byte[] expandBlock(FileChannel in, int block) throws IOException {
+        return BlockFile.expandBlock(in, block, MAGIC, CODEC);
+    }
+
+    /**
+     * 压缩一个块
+     *
+     * @param block 块数据
+     * @return 压缩后的块
+     * @throws IOException 编码失败
+     */
+    private static byte[] compressBlock(ByteBuffer block) throws IOException {
+        int n = block.remaining();
+        byte[] input = new byte[n];
+        block.get(input);
+
+        byte[] bwt = new byte[n];
+        int first = BurrowsWheeler.transform(input, n, bwt);
+
+        boolean[] used = new boolean[HuffmanCode.R];
+        for (int i = 0; i < n; i++) {
+            used[bwt[i] & 0xff] = true;
+        }
+        byte[] alphabet = alphabet(used);
+        MoveToFront.encode(bwt, n, alphabet);
+        int m = alphabet.length <= MAX_RLE_ALPHABET ? encodeRuns(bwt, n) : n;
+
+        long[] freq = new long[HuffmanCode.R];
+        for (int i = 0; i < m; i++) {
+            freq[bwt[i] & 0xff]++;
+        }
+        HuffmanCode code = HuffmanCode.of(freq, HuffmanCode.TABLE_BITS);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(n / 3 + 2 * HuffmanCode.R);
+        BinaryChannelOut bits = new BinaryChannelOut(Channels.newChannel(bytes));
+        bits.write(first);
+        for (boolean u : used) {
+            bits.write(u);
+        }
+        bits.write(m);
+        code.writeLengths(bits);
+        for (int i = 0; i < m; i++) {
+            code.encode(bwt[i] & 0xff, bits);
+        }
+        bits.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解压一个块
+     *
+     * @param block 压缩后的块
+     * @param raw   原始长度
+     * @return 解压后的块
+     * @throws IOException 解码失败
+     */
+    private static byte[] expandBlock(ByteBuffer block, int raw) throws IOException {
+        BinaryChannelIn bits = new BinaryChannelIn(Channels.newChannel(
+                new ByteArrayInputStream(block.array(), block.position(), block.remaining())));
+        int first = bits.readInt();
+        boolean[] used = new boolean[HuffmanCode.R];
+        for (int c = 0; c < HuffmanCode.R; c++) {
+            used[c] = bits.readBoolean();
+        }
+        int m = bits.readInt();
+        if (m < 0 || m > raw) {
+            throw new IllegalArgumentException("corrupted block");
+        }
+        HuffmanCode code = HuffmanCode.readLengths(bits);
+        byte[] symbols = new byte[m];
+        code.decode(bits, symbols, 0, m);
+
+        byte[] alphabet = alphabet(used);
+        byte[] bwt = alphabet.length <= MAX_RLE_ALPHABET ? decodeRuns(symbols, m, raw) : symbols;
+        MoveToFront.decode(bwt, raw, alphabet);
+
+        byte[] data = new byte[raw];
+        BurrowsWheeler.inverseTransform(bwt, raw, first, data);
+        return data;
+    }
+
+    /**
+     * 根据出现过的字节构造有序的字母表
+     *
+     * @param used 每个字节是否出现过
+     * @return 字母表
+     */
+    private static byte[] alphabet(boolean[] used) {
+        int size = 0;
+        for (boolean u : used) {
+            if (u) {
+                size++;
+            }
+        }
+        byte[] alphabet = new byte[size];
+        for (int c = 0, k = 0; c < used.length; c++) {
+            if (used[c]) {
+                alphabet[k++] = (byte) c;
+            }
+        }
+        return alphabet;
+    }
+
+    /**
+     * 对 0 的游程进行原地编码
+     * <p>
+     * 长度为 L 的游程写作 RUNA（表示 1）和 RUNB（表示 2）组成的低位在前的双射二进制数，
+     * 其余位置加 1，因此编码后的长度不会超过原长度
+     *
+     * @param a 需要编码的位置
+     * @param n 位置的数量
+     * @return 编码后的符号数
+     */
+    private static int encodeRuns(byte[] a, int n) {
+        int m = 0;
+        int i = 0;
+        while (i < n) {
+            if (a[i] != 0) {
+                a[m++] = (byte) (a[i++] + 1);
+                continue;
+            }
+            int run = 0;
+            while (i < n && a[i] == 0) {
+                run++;
+                i++;
+            }
+            while (run > 0) {
+                if ((run & 1) == 1) {
+                    a[m++] = RUNA;
+                    run = (run - 1) >>> 1;
+                } else {
+                    a[m++] = RUNB;
+                    run = (run - 2) >>> 1;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * 游程解码
+     *
+     * @param a   编码后的符号
+     * @param m   符号的数量
+     * @param raw 解码后的长度
+     * @return 解码后的位置
+     */
+    private static byte[] decodeRuns(byte[] a, int m, int raw) {
+        byte[] out = new byte[raw];
+        int k = 0;
+        int i = 0;
+        while (i < m) {
+            int c = a[i] & 0xff;
+            if (c > RUNB) {
+                if (k >= raw) {
+                    throw new IllegalArgumentException("corrupted block");
+                }
+                out[k++] = (byte) (c - 1);
+                i++;
+                continue;
+            }
+            long run = 0;
+            int weight = 1;
+            while (i < m && (a[i] & 0xff) <= RUNB) {
+                run += (long) ((a[i] & 0xff) + 1) * weight;
+                weight <<= 1;
+                i++;
+                if (run > raw - k) {
+                    throw new IllegalArgumentException("corrupted block");
+                }
+            }
+            // out 已初始化为 0
+            k += (int) run;
+        }
+        if (k != raw) {
+            throw new IllegalArgumentException("corrupted block");
+        }
+        return out;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        switch (args[0]) {
+            case "-":
+                compress(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            case "+":
+                expand(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal command line argument");
+        }
+    }
+}
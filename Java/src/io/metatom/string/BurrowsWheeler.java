@@ -0,0 +1,147 @@
+package io.metatom.string;
+
+import java.util.Arrays;
+
+/**
+ * Burrows-Wheeler 变换
+ * <p>
+ * 将输入的所有循环移位排序后取最后一列，相同上下文的字符会聚集在一起，便于后续的 move-to-front 和游程编码。
+ * 循环移位的排序使用倍增法：每一轮按照 (前 k 个字符的排名, 后 k 个字符的排名) 进行两次计数排序，
+ * 最多 log n 轮，每轮线性时间
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class BurrowsWheeler {
+    /**
+     * 字节字母表
+     */
+    private static final int R = 256;
+
+    /**
+     * 对循环移位进行排序
+     *
+     * @param s 输入
+     * @param n 输入的长度
+     * @return 排序后的循环移位的起始位置
+     */
+    static int[] sortRotations(byte[] s, int n) {
+        int[] sa = new int[n];
+        int[] rank = new int[n];
+        int[] tmp = new int[n];
+        int[] count = new int[Math.max(R, n) + 1];
+
+        // 按照第一个字符排序
+        for (int i = 0; i < n; i++) {
+            count[(s[i] & 0xff) + 1]++;
+        }
+        for (int r = 0; r < R; r++) {
+            count[r + 1] += count[r];
+        }
+        for (int i = 0; i < n; i++) {
+            sa[count[s[i] & 0xff]++] = i;
+        }
+        int classes = 0;
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && s[sa[i]] != s[sa[i - 1]]) {
+                classes++;
+            }
+            rank[sa[i]] = classes;
+        }
+        classes++;
+
+        for (int k = 1; k < n && classes < n; k <<= 1) {
+            // sa 已按前 k 个字符排序，向前平移 k 位即按后 k 个字符排好了序
+            for (int i = 0; i < n; i++) {
+                tmp[i] = sa[i] - k < 0 ? sa[i] - k + n : sa[i] - k;
+            }
+            // 按照前 k 个字符的排名进行稳定的计数排序
+            Arrays.fill(count, 0, classes + 1, 0);
+            for (int i = 0; i < n; i++) {
+                count[rank[tmp[i]] + 1]++;
+            }
+            for (int r = 0; r < classes; r++) {
+                count[r + 1] += count[r];
+            }
+            for (int i = 0; i < n; i++) {
+                sa[count[rank[tmp[i]]]++] = tmp[i];
+            }
+
+            // 重新计算前 2k 个字符的排名
+            tmp[sa[0]] = 0;
+            classes = 1;
+            for (int i = 1; i < n; i++) {
+                int cur = sa[i];
+                int prev = sa[i - 1];
+                int curNext = cur + k < n ? cur + k : cur + k - n;
+                int prevNext = prev + k < n ? prev + k : prev + k - n;
+                if (rank[cur] != rank[prev] || rank[curNext] != rank[prevNext]) {
+                    classes++;
+                }
+                tmp[cur] = classes - 1;
+            }
+            int[] t = rank;
+            rank = tmp;
+            tmp = t;
+        }
+        return sa;
+    }
+
+    /**
+     * 变换
+     *
+     * @param in  输入
+     * @param n   输入的长度
+     * @param out 存放排序后循环移位的最后一列
+     * @return 原始输入在排序后的循环移位中的位置
+     */
+    public static int transform(byte[] in, int n, byte[] out) {
+        int[] sa = sortRotations(in, n);
+        int first = -1;
+        for (int i = 0; i < n; i++) {
+            if (sa[i] == 0) {
+                first = i;
+                out[i] = in[n - 1];
+            } else {
+                out[i] = in[sa[i] - 1];
+            }
+        }
+        return first;
+    }
+
+    /**
+     * 逆变换
+     *
+     * @param in    排序后循环移位的最后一列
+     * @param n     输入的长度
+     * @param first 原始输入在排序后的循环移位中的位置
+     * @param out   存放还原的输入
+     */
+    public static void inverseTransform(byte[] in, int n, int first, byte[] out) {
+        if (n == 0) {
+            return;
+        }
+        if (first < 0 || first >= n) {
+            throw new IllegalArgumentException("first " + first + " is not between 0 and " + (n - 1));
+        }
+        // 第一列通过对最后一列计数排序得到，next[i] 为第一列第 i 行的字符在最后一列中的位置
+        int[] count = new int[R + 1];
+        for (int i = 0; i < n; i++) {
+            count[(in[i] & 0xff) + 1]++;
+        }
+        for (int r = 0; r < R; r++) {
+            count[r + 1] += count[r];
+        }
+        int[] next = new int[n];
+        for (int i = 0; i < n; i++) {
+            next[count[in[i] & 0xff]++] = i;
+        }
+
+        int cur = first;
+        for (int i = 0; i < n; i++) {
+            cur = next[cur];
+            out[i] = in[cur];
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 支持并发访问的三向单词查找树
+ * <p>
+ * 节点不可变，写操作复制从根节点到被修改节点的路径（path copying），得到新的根节点后通过 CAS 发布，
+ * 失败时基于最新的版本重试。读操作只读取一次当前版本，之后在不可变的节点上查找，既不加锁也不会被写操作阻塞，
+ * 遍历得到的总是某一时刻的一致快照。每次写操作分配 O(树高) 个节点，适合读多写少的场景
+ *
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class ConcurrentTST<Value> {
+    /**
+     * 当前的版本
+     */
+    private final AtomicReference<Version<Value>> current;
+
+    /**
+     * 不可变的节点
+     */
+    private static final class Node<Value> {
+        private final char c;
+        private final Node<Value> left;
+        private final Node<Value> mid;
+        private final Node<Value> right;
+        private final Value val;
+
+        Node(char c, Node<Value> left, Node<Value> mid, Node<Value> right, Value val) {
+            this.c = c;
+            this.left = left;
+            this.mid = mid;
+            this.right = right;
+            this.val = val;
+        }
+    }
+
+    /**
+     * 根节点与键的数量，二者一起发布
+     */
+    private static final class Version<Value> {
+        private final Node<Value> root;
+        private final int n;
+
+        Version(Node<Value> root, int n) {
+            this.root = root;
+            this.n = n;
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    public ConcurrentTST() {
+        this(new Version<>(null, 0));
+    }
+
+    /**
+     * 从指定的版本构造
+     *
+     * @param version 版本
+     */
+    private ConcurrentTST(Version<Value> version) {
+        current = new AtomicReference<>(version);
+    }
+
+    /**
+     * 获取当前内容的快照
+     * <p>
+     * 快照与原符号表共享所有节点，创建的时间为 O(1)，之后二者相互独立，修改任何一方都不会影响另一方
+     *
+     * @return 快照
+     */
+    public ConcurrentTST<Value> snapshot() {
+        return new ConcurrentTST<>(current.get());
+    }
+
+    /**
+     * 获取符号表的大小
+     *
+     * @return 符号表的大小
+     */
+    public int size() {
+        return current.get().n;
+    }
+
+    /**
+     * 符号表是否为空
+     *
+     * @return {@code true} 符号表为空
+     * {@code false} 符号表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 检查指定的 key 是否在符号表中
+     *
+     * @param key 指定的 key
+     * @return {@code true} 在符号表表中
+     * {@code false} 不在符号表中
+     */
+    public boolean contains(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * 根据字符串查找相关联的值
+     *
+     * @param key 用字符串表示的键
+     * @return 相关联的值
+     */
+    public Value get(String key) {
+        checkKey(key, "get");
+        Node<Value> x = get(current.get().root, key, 0);
+        return x == null ? null : x.val;
+    }
+
+    /**
+     * 检查键是否合法
+     *
+     * @param key    键
+     * @param method 调用的方法名
+     */
+    private static void checkKey(String key, String method) {
+        if (key == null) {
+            throw new IllegalArgumentException("calls " + method + "() with null argument");
+        }
+        if (key.length() == 0) {
+            throw new IllegalArgumentException("key must have length >= 1");
+        }
+    }
+
+    /**
+     * 在指定节点下查找字符串相关联的节点
+     *
+     * @param x   指定的节点
+     * @param key 用字符串表示的键
+     * @param d   记录查找字符串的字符位置
+     * @return 查找到的节点
+     */
+    private static <Value> Node<Value> get(Node<Value> x, String key, int d) {
+        while (x != null) {
+            char c = key.charAt(d);
+            if (c < x.c) {
+                x = x.left;
+            } else if (c > x.c) {
+                x = x.right;
+            } else if (d < key.length() - 1) {
+                x = x.mid;
+                d++;
+            } else {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 向树中添加新的键值对，值为 null 时删除该键
+     *
+     * @param key 键
+     * @param val 值
+     */
+    public void put(String key, Value val) {
+        checkKey(key, "put");
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        while (true) {
+            Version<Value> v = current.get();
+            Node<Value> old = get(v.root, key, 0);
+            if (old != null && old.val == val) {
+                return;
+            }
+            int n = old == null || old.val == null ? v.n + 1 : v.n;
+            if (current.compareAndSet(v, new Version<>(put(v.root, key, val, 0), n))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 在指定节点下添加键值对，复制经过的节点
+     *
+     * @param x   指定的节点
+     * @param key 键
+     * @param val 值
+     * @param d   记录查找字符串的字符位置
+     * @return 添加后的节点副本
+     */
+    private static <Value> Node<Value> put(Node<Value> x, String key, Value val, int d) {
+        char c = key.charAt(d);
+        if (x == null) {
+            if (d < key.length() - 1) {
+                return new Node<>(c, null, put(null, key, val, d + 1), null, null);
+            }
+            return new Node<>(c, null, null, null, val);
+        }
+        if (c < x.c) {
+            return new Node<>(x.c, put(x.left, key, val, d), x.mid, x.right, x.val);
+        } else if (c > x.c) {
+            return new Node<>(x.c, x.left, x.mid, put(x.right, key, val, d), x.val);
+        } else if (d < key.length() - 1) {
+            return new Node<>(x.c, x.left, put(x.mid, key, val, d + 1), x.right, x.val);
+        } else {
+            return new Node<>(x.c, x.left, x.mid, x.right, val);
+        }
+    }
+
+    /**
+     * 删除指定的键
+     *
+     * @param key 指定的键
+     */
+    public void delete(String key) {
+        checkKey(key, "delete");
+        while (true) {
+            Version<Value> v = current.get();
+            Node<Value> old = get(v.root, key, 0);
+            if (old == null || old.val == null) {
+                return;
+            }
+            if (current.compareAndSet(v, new Version<>(delete(v.root, key, 0), v.n - 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 在指定节点下删除键，复制经过的节点，并移除不再含有键的节点
+     *
+     * @param x   指定的节点，键一定在该节点下
+     * @param key 键
+     * @param d   记录查找字符串的字符位置
+     * @return 删除后的节点副本
+     */
+    private static <Value> Node<Value> delete(Node<Value> x, String key, int d) {
+        char c = key.charAt(d);
+        if (c < x.c) {
+            return new Node<>(x.c, delete(x.left, key, d), x.mid, x.right, x.val);
+        } else if (c > x.c) {
+            return new Node<>(x.c, x.left, x.mid, delete(x.right, key, d), x.val);
+        }
+        Node<Value> mid = x.mid;
+        Value val = x.val;
+        if (d < key.length() - 1) {
+            mid = delete(mid, key, d + 1);
+        } else {
+            val = null;
+        }
+        if (mid == null && val == null) {
+            // 节点不再含有键，用左右子树合并后的结果代替
+            return join(x.left, x.right);
+        }
+        return new Node<>(x.c, x.left, mid, x.right, val);
+    }
+
+    /**
+     * 合并同一层的两棵子树，left 中的字符都小于 right 中的字符
+     *
+     * @param left  左子树
+     * @param right 右子树
+     * @return 合并后的子树
+     */
+    private static <Value> Node<Value> join(Node<Value> left, Node<Value> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return new Node<>(left.c, left.left, left.mid, join(left.right, right), left.val);
+    }
+
+    /**
+     * 获取指定的字符串的最长前缀
+     *
+     * @param query 查询的字符串
+     * @return 指定字符串的最长前缀
+     */
+    public String longestPrefixOf(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("calls longestPrefixOf() with null argument");
+        }
+        int length = 0;
+        Node<Value> x = current.get().root;
+        int i = 0;
+        while (x != null && i < query.length()) {
+            char c = query.charAt(i);
+            if (c < x.c) {
+                x = x.left;
+            } else if (c > x.c) {
+                x = x.right;
+            } else {
+                i++;
+                if (x.val != null) {
+                    length = i;
+                }
+                x = x.mid;
+            }
+        }
+        return query.substring(0, length);
+    }
+
+    /**
+     * 获取符号表的 key 的合集
+     * <p>
+     * 返回的合集是调用时的版本的快照，遍历时才在不可变的节点上逐个查找下一个 key，不受之后的写操作影响
+     *
+     * @return key 的合集
+     */
+    public Iterable<String> keys() {
+        Node<Value> root = current.get().root;
+        return () -> new KeyIterator<>(root, "", null);
+    }
+
+    /**
+     * 获取指定前缀的所有的 key
+     *
+     * @param prefix 指定的前缀
+     * @return key 的合集
+     */
+    public Iterable<String> keysWithPrefix(String prefix) {
+        return keysWithPrefix(prefix, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 分页获取指定前缀的 key，跳过的 key 不会生成字符串
+     *
+     * @param prefix 指定的前缀
+     * @param offset 跳过的 key 的数量
+     * @param limit  最多返回的 key 的数量
+     * @return key 的合集
+     */
+    public Iterable<String> keysWithPrefix(String prefix, int offset, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("calls keysWithPrefix() with null argument");
+        }
+        TernaryKeyIterator.checkRange(offset, limit);
+        Node<Value> root = current.get().root;
+        if (prefix.length() == 0) {
+            return () -> new KeyIterator<>(root, "", null).page(offset, limit);
+        }
+        Node<Value> x = get(root, prefix, 0);
+        return () -> {
+            KeyIterator<Value> it = new KeyIterator<>(x == null ? null : x.mid, prefix, null);
+            it.self = x != null && x.val != null;
+            return it.page(offset, limit);
+        };
+    }
+
+    /**
+     * 获取与模式匹配的所有的 key，'.' 可以匹配任意字符
+     *
+     * @param pattern 匹配的模式
+     * @return key 的合集
+     */
+    public Iterable<String> keysThatMatch(String pattern) {
+        return keysThatMatch(pattern, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 分页获取与模式匹配的 key
+     *
+     * @param pattern 匹配的模式
+     * @param offset  跳过的 key 的数量
+     * @param limit   最多返回的 key 的数量
+     * @return key 的合集
+     */
+    public Iterable<String> keysThatMatch(String pattern, int offset, int limit) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("calls keysThatMatch() with null argument");
+        }
+        TernaryKeyIterator.checkRange(offset, limit);
+        Node<Value> root = pattern.length() == 0 ? null : current.get().root;
+        return () -> new KeyIterator<>(root, "", pattern).page(offset, limit);
+    }
+
+    /**
+     * 按字典序惰性遍历 key 的迭代器，节点不可变，遍历不需要加锁
+     */
+    private static final class KeyIterator<Value> extends TernaryKeyIterator<Node<Value>> {
+        KeyIterator(Node<Value> x, String prefix, String pattern) {
+            super(x, prefix, pattern);
+        }
+
+        @Override
+        char c(Node<Value> x) {
+            return x.c;
+        }
+
+        @Override
+        Node<Value> left(Node<Value> x) {
+            return x.left;
+        }
+
+        @Override
+        Node<Value> mid(Node<Value> x) {
+            return x.mid;
+        }
+
+        @Override
+        Node<Value> right(Node<Value> x) {
+            return x.right;
+        }
+
+        @Override
+        boolean hasValue(Node<Value> x) {
+            return x.val != null;
+        }
+    }
+
+    /**
+     * 单元测试
+     * <p>
+     * 从标准输入读取键，一个线程不断写入和删除，主线程同时进行查找
+     *
+     * @param args 命令行参数
+     * @throws InterruptedException 等待写线程时被中断
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String[] keys = StdIn.readAllStrings();
+        ConcurrentTST<Integer> st = new ConcurrentTST<>();
+        for (int i = 0; i < keys.length; i++) {
+            st.put(keys[i], i);
+        }
+        ConcurrentTST<Integer> before = st.snapshot();
+
+        Thread writer = new Thread(() -> {
+            for (int r = 0; r < 10; r++) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (r % 2 == 0) {
+                        st.delete(keys[i]);
+                    } else {
+                        st.put(keys[i], i);
+                    }
+                }
+            }
+        });
+        writer.start();
+        long found = 0;
+        long reads = 0;
+        while (writer.isAlive()) {
+            for (String key : keys) {
+                if (st.get(key) != null) {
+                    found++;
+                }
+                reads++;
+            }
+        }
+        writer.join();
+
+        StdOut.println(reads + " reads, " + found + " hits during updates");
+        StdOut.println("size = " + st.size() + ", snapshot size = " + before.size());
+        StdOut.println("keysWithPrefix(\"sh\", 0, 3):");
+        for (String s : st.keysWithPrefix("sh", 0, 3)) {
+            StdOut.println(s);
+        }
+    }
+}
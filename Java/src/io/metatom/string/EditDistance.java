@@ -0,0 +1,169 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.Queue;
+import io.metatom.sort.MaxPQ;
+
+import java.util.Arrays;
+
+/**
+ * 单词查找树上的编辑距离搜索
+ * <p>
+ * 沿着单词查找树向下遍历时，每经过一个字符就根据父节点的一行计算 Levenshtein 动态规划表的下一行，
+ * 第 d 行保存深度为 d 的前缀与查询字符串每个前缀之间的编辑距离。一行中的最小值是该前缀的任何延伸所能达到的距离下界，
+ * 超过限制时整棵子树都可以剪掉
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class EditDistance {
+    /**
+     * 查询字符串
+     */
+    private final String query;
+    /**
+     * 每个深度的动态规划行
+     */
+    private int[][] rows;
+    /**
+     * 最多返回的键的数量
+     */
+    private final int k;
+    /**
+     * 允许的最大编辑距离
+     */
+    private final int maxDistance;
+    /**
+     * 当前最好的 k 个结果，堆顶为最差的结果
+     */
+    private final MaxPQ<Match> best;
+
+    /**
+     * 搜索结果
+     */
+    private static final class Match {
+        private final String key;
+        private final int distance;
+
+        Match(String key, int distance) {
+            this.key = key;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param query       查询字符串
+     * @param maxDistance 允许的最大编辑距离
+     * @param k           最多返回的键的数量
+     */
+    EditDistance(String query, int maxDistance, int k) {
+        if (query == null) {
+            throw new IllegalArgumentException("query is null");
+        }
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance is negative: " + maxDistance);
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("k is negative: " + k);
+        }
+        this.query = query;
+        this.maxDistance = maxDistance;
+        this.k = k;
+        this.rows = new int[query.length() + 2][];
+        rows[0] = new int[query.length() + 1];
+        for (int j = 0; j <= query.length(); j++) {
+            rows[0][j] = j;
+        }
+        this.best = new MaxPQ<>((a, b) -> a.distance != b.distance
+                ? Integer.compare(a.distance, b.distance) : a.key.compareTo(b.key));
+    }
+
+    /**
+     * 根据深度为 d 的行和下一个字符计算深度为 d + 1 的行
+     *
+     * @param d 父节点的深度
+     * @param c 下一个字符
+     * @return {@code true} 子树中可能有满足条件的键
+     */
+    boolean descend(int d, char c) {
+        // 长度超过 query.length() + maxDistance 的前缀不可能满足条件
+        if (d + 1L > (long) query.length() + maxDistance) {
+            return false;
+        }
+        if (d + 1 == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        if (rows[d + 1] == null) {
+            rows[d + 1] = new int[query.length() + 1];
+        }
+        int[] prev = rows[d];
+        int[] row = rows[d + 1];
+        row[0] = d + 1;
+        int min = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int cost = query.charAt(j - 1) == c ? 0 : 1;
+            row[j] = Math.min(Math.min(row[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            min = Math.min(min, row[j]);
+        }
+        return min <= bound();
+    }
+
+    /**
+     * 深度为 d 的前缀与查询字符串之间的编辑距离
+     *
+     * @param d 深度
+     * @return 编辑距离
+     */
+    int distance(int d) {
+        return rows[d][query.length()];
+    }
+
+    /**
+     * 当前可以接受的最大编辑距离
+     * <p>
+     * 已经找到 k 个结果后只接受更近的键：遍历按照字典序进行，距离相同的后续键总是排在已有结果之后
+     *
+     * @return 最大编辑距离
+     */
+    int bound() {
+        if (k == 0) {
+            return -1;
+        }
+        return best.size() < k ? maxDistance : best.max().distance - 1;
+    }
+
+    /**
+     * 提交一个键，距离满足条件时才生成字符串
+     *
+     * @param key 键，长度即为其动态规划行的深度
+     */
+    void offer(StringBuilder key) {
+        int distance = distance(key.length());
+        if (distance > bound()) {
+            return;
+        }
+        best.insert(new Match(key.toString(), distance));
+        if (best.size() > k) {
+            best.delMax();
+        }
+    }
+
+    /**
+     * 按照编辑距离从小到大返回结果，距离相同时按字典序
+     *
+     * @return 键的集合
+     */
+    Iterable<String> keys() {
+        String[] a = new String[best.size()];
+        for (int i = a.length - 1; i >= 0; i--) {
+            a[i] = best.delMax().key;
+        }
+        Queue<String> q = new Queue<>();
+        for (String key : a) {
+            q.enqueue(key);
+        }
+        return q;
+    }
+}
@@ -6,6 +6,8 @@ import edu.princeton.cs.algs4.MinPQ;
 
 /**
  * 哈夫曼压缩
+ * <p>
+ * 需要将全部输入读入内存，处理大文件时请使用 {@link StreamHuffman}
  *
  * @author igaozp
  * @version 1.1
@@ -197,14 +199,14 @@ public class Huffman {
         for (char c : input) {
             String code = st[c];
             for (int j = 0; j < code.length(); j++) {
-                if ("1".equals(code.charAt(j))) {
+                if (code.charAt(j) == '1') {
                     BinaryStdOut.write(true);
                 } else {
                     BinaryStdOut.write(false);
                 }
             }
-            BinaryStdOut.close();
         }
+        BinaryStdOut.close();
     }
 
     /**
@@ -0,0 +1,445 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.MinPQ;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 字节字母表上的范式哈夫曼编码
+ * <p>
+ * 只需要保存每个字符的编码长度即可重建编码：长度相同的字符按字符大小依次分配连续的编码，
+ * 编码时直接查表得到打包在 long 中的编码。
+ * <p>
+ * 解码时以接下来的 {@value #TABLE_BITS} 位为下标查询解码表，每个表项最多包含 3 个完整的字符，
+ * 一次查表即可解码多个字符；只有长度超过 {@value #TABLE_BITS} 位的编码才需要逐位解码，
+ * 因此可以通过 {@link #of(long[], int)} 限制编码长度，使所有编码都能通过查表解码
+ *
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class HuffmanCode {
+    /**
+     * 字节字母表
+     */
+    public static final int R = 256;
+    /**
+     * 编码的最大长度
+     */
+    private static final int MAX_LENGTH = 64;
+    /**
+     * 解码表的位数
+     */
+    public static final int TABLE_BITS = 12;
+    /**
+     * 解码表每个表项最多包含的字符数
+     */
+    private static final int TABLE_SYMBOLS = 3;
+
+    /**
+     * 每个字符的编码长度，0 表示该字符不出现
+     */
+    private final int[] length;
+    /**
+     * 每个字符的编码，右对齐
+     */
+    private final long[] code;
+    /**
+     * 每种长度的编码数量
+     */
+    private final int[] count;
+    /**
+     * 按照编码顺序排列的字符
+     */
+    private final int[] symbol;
+    /**
+     * 最长的编码长度
+     */
+    private final int maxLength;
+    /**
+     * 解码表，表项的 0 ~ 23 位依次存放最多 3 个字符，24 ~ 25 位为字符数，26 ~ 29 位为消耗的比特数，
+     * 为 0 时表示该前缀对应的编码长度超过了 {@value #TABLE_BITS} 位
+     */
+    private final int[] table;
+
+    /**
+     * 内部定义的哈夫曼树节点类
+     */
+    private static class Node implements Comparable<Node> {
+        private final int ch;
+        private final long freq;
+        private final Node left, right;
+
+        Node(int ch, long freq, Node left, Node right) {
+            this.ch = ch;
+            this.freq = freq;
+            this.left = left;
+            this.right = right;
+        }
+
+        boolean isLeaf() {
+            return left == null && right == null;
+        }
+
+        @Override
+        public int compareTo(Node that) {
+            return Long.compare(this.freq, that.freq);
+        }
+    }
+
+    /**
+     * 根据编码长度构造范式编码
+     *
+     * @param length 每个字符的编码长度
+     */
+    private HuffmanCode(int[] length) {
+        this.length = length;
+        this.code = new long[R];
+        int max = 0;
+        for (int len : length) {
+            if (len < 0 || len > MAX_LENGTH) {
+                throw new IllegalArgumentException("illegal code length " + len);
+            }
+            max = Math.max(max, len);
+        }
+        this.maxLength = max;
+        this.count = new int[max + 1];
+        for (int len : length) {
+            if (len > 0) {
+                count[len]++;
+            }
+        }
+
+        // 检查 Kraft 不等式，避免解码时出现二义性
+        long left = 1;
+        for (int len = 1; len <= max; len++) {
+            left = (Math.min(left, 1L << 32) << 1) - count[len];
+            if (left < 0) {
+                throw new IllegalArgumentException("over-subscribed code lengths");
+            }
+        }
+
+        // 计算每种长度的首个编码
+        long[] next = new long[max + 2];
+        int[] offset = new int[max + 2];
+        for (int len = 1; len <= max; len++) {
+            next[len + 1] = (next[len] + count[len]) << 1;
+            offset[len + 1] = offset[len] + count[len];
+        }
+        this.symbol = new int[offset[max + 1]];
+        for (int c = 0; c < R; c++) {
+            int len = length[c];
+            if (len > 0) {
+                code[c] = next[len]++;
+                symbol[offset[len]++] = c;
+            }
+        }
+        this.table = buildTable();
+    }
+
+    /**
+     * 根据字符出现次数构造哈夫曼编码
+     *
+     * @param freq 每个字符出现的次数
+     * @return 范式哈夫曼编码
+     */
+    public static HuffmanCode of(long[] freq) {
+        return of(freq, MAX_LENGTH);
+    }
+
+    /**
+     * 根据字符出现次数构造编码长度不超过 maxLength 的哈夫曼编码
+     *
+     * @param freq      每个字符出现的次数
+     * @param maxLength 编码的最大长度
+     * @return 范式哈夫曼编码
+     */
+    public static HuffmanCode of(long[] freq, int maxLength) {
+        if (maxLength < 1 || maxLength > MAX_LENGTH) {
+            throw new IllegalArgumentException("Illegal value for maxLength = " + maxLength);
+        }
+        if (freq.length != R) {
+            throw new IllegalArgumentException("frequency table must have " + R + " entries");
+        }
+        MinPQ<Node> pq = new MinPQ<>();
+        for (int c = 0; c < R; c++) {
+            if (freq[c] > 0) {
+                pq.insert(new Node(c, freq[c], null, null));
+            }
+        }
+
+        int[] length = new int[R];
+        if (pq.size() == 1) {
+            // 只有一个字符时仍需要 1 位的编码
+            length[pq.delMin().ch] = 1;
+            return new HuffmanCode(length);
+        }
+        while (pq.size() > 1) {
+            Node x = pq.delMin();
+            Node y = pq.delMin();
+            pq.insert(new Node(-1, x.freq + y.freq, x, y));
+        }
+        if (!pq.isEmpty()) {
+            depth(pq.delMin(), 0, length);
+        }
+        limit(freq, length, maxLength);
+        return new HuffmanCode(length);
+    }
+
+    /**
+     * 将编码长度限制在 maxLength 之内
+     * <p>
+     * 每次从最长的一层取出两个叶子，其中一个上移一层，另一个与较短层的一个叶子一起挂到该叶子下方，
+     * 直到没有超长的编码，再按出现次数从高到低依次分配调整后的长度
+     *
+     * @param freq      每个字符出现的次数
+     * @param length    哈夫曼编码长度，会被原地修改
+     * @param maxLength 编码的最大长度
+     */
+    private static void limit(long[] freq, int[] length, int maxLength) {
+        int max = 0;
+        int symbols = 0;
+        for (int len : length) {
+            max = Math.max(max, len);
+            if (len > 0) {
+                symbols++;
+            }
+        }
+        if (max <= maxLength) {
+            return;
+        }
+        if (symbols > (1L << maxLength)) {
+            throw new IllegalArgumentException(symbols + " symbols do not fit in " + maxLength + "-bit codes");
+        }
+
+        int[] bits = new int[max + 1];
+        for (int len : length) {
+            if (len > 0) {
+                bits[len]++;
+            }
+        }
+        for (int i = max; i > maxLength; i--) {
+            while (bits[i] > 0) {
+                int j = i - 2;
+                while (bits[j] == 0) {
+                    j--;
+                }
+                bits[i] -= 2;
+                bits[i - 1]++;
+                bits[j + 1] += 2;
+                bits[j]--;
+            }
+        }
+
+        Integer[] order = new Integer[symbols];
+        for (int c = 0, k = 0; c < R; c++) {
+            if (length[c] > 0) {
+                order[k++] = c;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(freq[b], freq[a]));
+        int len = 1;
+        for (int c : order) {
+            while (bits[len] == 0) {
+                len++;
+            }
+            bits[len]--;
+            length[c] = len;
+        }
+    }
+
+    /**
+     * 根据编码长度构造范式编码
+     *
+     * @param length 每个字符的编码长度
+     * @return 范式哈夫曼编码
+     */
+    public static HuffmanCode fromLengths(int[] length) {
+        if (length.length != R) {
+            throw new IllegalArgumentException("length table must have " + R + " entries");
+        }
+        return new HuffmanCode(length.clone());
+    }
+
+    /**
+     * 记录每个叶子节点的深度
+     *
+     * @param x      开始的节点
+     * @param d      节点的深度
+     * @param length 编码长度表
+     */
+    private static void depth(Node x, int d, int[] length) {
+        if (x.isLeaf()) {
+            length[x.ch] = d;
+            return;
+        }
+        depth(x.left, d + 1, length);
+        depth(x.right, d + 1, length);
+    }
+
+    /**
+     * 获取字符的编码长度
+     *
+     * @param c 字符
+     * @return 编码长度，0 表示没有编码
+     */
+    public int length(int c) {
+        return length[c];
+    }
+
+    /**
+     * 获取字符的编码
+     *
+     * @param c 字符
+     * @return 右对齐的编码
+     */
+    public long code(int c) {
+        return code[c];
+    }
+
+    /**
+     * 获取最长的编码长度
+     *
+     * @return 最长的编码长度
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 将编码长度表写入输出流，每个长度占一个字节
+     *
+     * @param out 输出流
+     * @throws IOException 写入失败
+     */
+    public void writeLengths(BinaryChannelOut out) throws IOException {
+        for (int c = 0; c < R; c++) {
+            out.write(length[c], 8);
+        }
+    }
+
+    /**
+     * 从输入流读取编码长度表并重建编码
+     *
+     * @param in 输入流
+     * @return 范式哈夫曼编码
+     * @throws IOException 读取失败
+     */
+    public static HuffmanCode readLengths(BinaryChannelIn in) throws IOException {
+        int[] length = new int[R];
+        for (int c = 0; c < R; c++) {
+            length[c] = in.readInt(8);
+        }
+        return new HuffmanCode(length);
+    }
+
+    /**
+     * 编码一个字符
+     *
+     * @param c   编码的字符
+     * @param out 输出流
+     * @throws IOException 写入失败
+     */
+    public void encode(int c, BinaryChannelOut out) throws IOException {
+        if (length[c] == 0) {
+            throw new IllegalArgumentException("no code for symbol " + c);
+        }
+        out.write(code[c], length[c]);
+    }
+
+    /**
+     * 构造解码表，对每个 {@value #TABLE_BITS} 位的前缀贪心地解码尽可能多的完整字符
+     *
+     * @return 解码表
+     */
+    private int[] buildTable() {
+        int[] t = new int[1 << TABLE_BITS];
+        for (int index = 0; index < t.length; index++) {
+            int used = 0;
+            int k = 0;
+            int entry = 0;
+            while (k < TABLE_SYMBOLS) {
+                int sym = -1;
+                int len;
+                long c = 0;
+                long first = 0;
+                int offset = 0;
+                for (len = 1; len <= Math.min(maxLength, TABLE_BITS - used); len++) {
+                    c |= (index >>> (TABLE_BITS - used - len)) & 1;
+                    if (c - first < count[len]) {
+                        sym = symbol[offset + (int) (c - first)];
+                        break;
+                    }
+                    offset += count[len];
+                    first = (first + count[len]) << 1;
+                    c <<= 1;
+                }
+                if (sym < 0) {
+                    break;
+                }
+                entry |= sym << (8 * k);
+                k++;
+                used += len;
+            }
+            t[index] = k == 0 ? 0 : entry | (k << 24) | (used << 26);
+        }
+        return t;
+    }
+
+    /**
+     * 查表解码最多 len 个字符
+     *
+     * @param in  输入流
+     * @param dst 存放解码结果的数组
+     * @param off 存放的起始位置
+     * @param len 解码的字符数量
+     * @throws IOException 读取失败
+     */
+    public void decode(BinaryChannelIn in, byte[] dst, int off, int len) throws IOException {
+        int end = off + len;
+        while (off < end) {
+            int entry = table[in.peek(TABLE_BITS)];
+            if (entry == 0) {
+                // 编码长度超过了解码表的位数
+                dst[off++] = (byte) decode(in);
+                continue;
+            }
+            int k = (entry >>> 24) & 3;
+            if (k <= end - off) {
+                for (int i = 0; i < k; i++) {
+                    dst[off++] = (byte) (entry >>> (8 * i));
+                }
+                in.skip(entry >>> 26);
+            } else {
+                // 剩余的字符数少于表项中的字符数，只取第一个字符
+                int sym = entry & 0xff;
+                dst[off++] = (byte) sym;
+                in.skip(length[sym]);
+            }
+        }
+    }
+
+    /**
+     * 解码一个字符，逐位与每种长度的首个编码比较
+     *
+     * @param in 输入流
+     * @return 解码的字符
+     * @throws IOException 读取失败
+     */
+    public int decode(BinaryChannelIn in) throws IOException {
+        long c = 0;
+        long first = 0;
+        int index = 0;
+        for (int len = 1; len <= maxLength; len++) {
+            c |= in.readLong(1);
+            if (c - first < count[len]) {
+                return symbol[index + (int) (c - first)];
+            }
+            index += count[len];
+            first = (first + count[len]) << 1;
+            c <<= 1;
+        }
+        throw new IllegalStateException("invalid Huffman code");
+    }
+}
@@ -0,0 +1,69 @@
+package io.metatom.string;
+
+/**
+ * move-to-front 编码
+ * <p>
+ * 将每个字节替换为它在有序字母表中的位置，并将其移动到字母表的最前面，
+ * 经过 Burrows-Wheeler 变换的输入中连续出现的字节会被编码为大量的 0
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class MoveToFront {
+    /**
+     * 编码
+     *
+     * @param a        需要编码的字节，编码结果原地存放
+     * @param n        字节的数量
+     * @param alphabet 初始的字母表，会被修改
+     */
+    public static void encode(byte[] a, int n, byte[] alphabet) {
+        for (int i = 0; i < n; i++) {
+            byte c = a[i];
+            int j = 0;
+            byte prev = alphabet[0];
+            while (prev != c) {
+                j++;
+                byte t = alphabet[j];
+                alphabet[j] = prev;
+                prev = t;
+            }
+            alphabet[0] = c;
+            a[i] = (byte) j;
+        }
+    }
+
+    /**
+     * 解码
+     *
+     * @param a        需要解码的位置，解码结果原地存放
+     * @param n        位置的数量
+     * @param alphabet 初始的字母表，会被修改
+     */
+    public static void decode(byte[] a, int n, byte[] alphabet) {
+        for (int i = 0; i < n; i++) {
+            int j = a[i] & 0xff;
+            if (j >= alphabet.length) {
+                throw new IllegalArgumentException("position " + j + " out of alphabet");
+            }
+            byte c = alphabet[j];
+            System.arraycopy(alphabet, 0, alphabet, 1, j);
+            alphabet[0] = c;
+            a[i] = c;
+        }
+    }
+
+    /**
+     * 获取包含全部 256 个字节的初始字母表
+     *
+     * @return 字母表
+     */
+    public static byte[] alphabet() {
+        byte[] alphabet = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            alphabet[i] = (byte) i;
+        }
+        return alphabet;
+    }
+}
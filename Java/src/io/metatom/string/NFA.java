@@ -2,26 +2,138 @@ package io.metatom.string;
 
 import edu.princeton.cs.algs4.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 正则表达式的模式匹配
+ * <p>
+ * 除了 (、)、|、* 和 . 之外，还支持：
+ * <ul>
+ *     <li>字符类 [abc]、[a-z]、[^0-9] 以及 \d、\w、\s 等简写</li>
+ *     <li>量词 +、? 以及有界重复 {m}、{m,}、{m,n}，量词之后的 ? 表示非贪婪，不影响能否匹配；
+ *     与 java.util.regex 相同，不允许连续的量词，也不支持占有量词；包括嵌套在内，
+ *     所有量词展开后的状态数不能超过 {@value #MAX_TOKENS}</li>
+ *     <li>锚点 ^ 和 $</li>
+ *     <li>使用 \ 转义元字符</li>
+ * </ul>
+ * 扩展语法在编译时被改写为只包含 (、)、|、* 的等价形式，再构造 epsilon 转换的有向图
  *
  * @author igaozp
- * @version 1.0
+ * @version 1.2
  * @since 2017-07-28
  */
 public class NFA {
     /**
-     * 匹配转换
+     * 状态的类型
+     */
+    private static final int MATCH = 0;
+    private static final int LPAREN = 1;
+    private static final int RPAREN = 2;
+    private static final int OR = 3;
+    private static final int STAR = 4;
+    private static final int BOL = 5;
+    private static final int EOL = 6;
+
+    /**
+     * 有界重复允许的最大次数
+     */
+    private static final int MAX_REPEAT = 1000;
+    /**
+     * 展开量词后允许的最大词法单元数，嵌套的有界重复会使展开后的长度成倍增长
      */
-    private char[] re;
+    private static final int MAX_TOKENS = 100000;
+    /**
+     * 解析时上一个元素是量词
+     */
+    private static final int QUANTIFIED = 1;
+    /**
+     * 解析时上一个元素是量词加上非贪婪的 ?
+     */
+    private static final int QUANTIFIED_LAZY = 2;
+    /**
+     * 编译缓存的容量
+     */
+    private static final int CACHE_CAPACITY = 256;
+    /**
+     * 以正则表达式为键的 LRU 编译缓存
+     */
+    private static final Map<String, NFA> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, NFA>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NFA> eldest) {
+                    return size() > CACHE_CAPACITY;
+                }
+            });
+
+    /**
+     * 每个状态的类型
+     */
+    private final int[] type;
+    /**
+     * 匹配转换，仅 MATCH 状态非空
+     */
+    private final CharClass[] match;
     /**
      * epsilon 转换
      */
-    private Digraph G;
+    private final Digraph G;
     /**
      * 状态数量
      */
-    private int M;
+    private final int M;
+
+    /**
+     * 字符类，使用有序的闭区间表示
+     */
+    private static class CharClass {
+        /**
+         * 区间的上下界，依次为 lo0, hi0, lo1, hi1, ...
+         */
+        private final char[] ranges;
+        /**
+         * 是否取反
+         */
+        private final boolean negated;
+
+        CharClass(char[] ranges, boolean negated) {
+            this.ranges = ranges;
+            this.negated = negated;
+        }
+
+        /**
+         * 检查字符是否属于该字符类
+         *
+         * @param c 检查的字符
+         * @return {@code true} 属于
+         * {@code false} 不属于
+         */
+        boolean matches(char c) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (c >= ranges[i] && c <= ranges[i + 1]) {
+                    return !negated;
+                }
+            }
+            return negated;
+        }
+    }
+
+    /**
+     * 编译过程中的词法单元
+     */
+    private static class Token {
+        final int type;
+        final CharClass cls;
+
+        Token(int type, CharClass cls) {
+            this.type = type;
+            this.cls = cls;
+        }
+    }
 
     /**
      * 构造方法，构建正则表达式的 NFA
@@ -29,81 +141,501 @@ public class NFA {
      * @param regexp 正则表达式
      */
     public NFA(String regexp) {
-        Stack<Integer> ops = new Stack<>();
-        re = regexp.toCharArray();
-        M = re.length;
+        if (regexp == null) {
+            throw new IllegalArgumentException("argument to NFA() is null");
+        }
+        List<Token> tokens = new ArrayList<>();
+        tokens.add(new Token(LPAREN, null));
+        parse(regexp, tokens);
+        tokens.add(new Token(RPAREN, null));
+
+        M = tokens.size();
+        type = new int[M];
+        match = new CharClass[M];
+        for (int i = 0; i < M; i++) {
+            type[i] = tokens.get(i).type;
+            match[i] = tokens.get(i).cls;
+        }
         G = new Digraph(M + 1);
 
+        Stack<Integer> ops = new Stack<>();
         for (int i = 0; i < M; i++) {
             int lp = i;
-            if (re[i] == '(' || re[i] == '|') {
+            if (type[i] == LPAREN || type[i] == OR) {
                 ops.push(i);
-            } else if (re[i] == ')') {
-                int or = ops.pop();
-                if (re[or] == '|') {
-                    lp = ops.pop();
+            } else if (type[i] == RPAREN) {
+                // 支持多路或，依次弹出所有的 | 直到对应的 (
+                Bag<Integer> ors = new Bag<>();
+                while (!ops.isEmpty() && type[ops.peek()] == OR) {
+                    ors.add(ops.pop());
+                }
+                if (ops.isEmpty()) {
+                    throw new IllegalArgumentException("unbalanced parentheses in regexp: " + regexp);
+                }
+                lp = ops.pop();
+                for (int or : ors) {
                     G.addEdge(lp, or + 1);
                     G.addEdge(or, i);
-                } else {
-                    lp = or;
                 }
             }
 
-            if (i < M - 1 && re[i + 1] == '*') {
+            if (i < M - 1 && type[i + 1] == STAR) {
                 G.addEdge(lp, i + 1);
                 G.addEdge(i + 1, lp);
             }
 
-            if (re[i] == '(' || re[i] == '*' || re[i] == ')') {
+            if (type[i] == LPAREN || type[i] == STAR || type[i] == RPAREN) {
                 G.addEdge(i, i + 1);
             }
         }
+        if (!ops.isEmpty()) {
+            throw new IllegalArgumentException("unbalanced parentheses in regexp: " + regexp);
+        }
     }
 
     /**
-     * NFA 能否检查文本
+     * 获取编译后的 NFA，相同的正则表达式只会编译一次
+     * <p>
+     * 缓存是线程安全的，最近最少使用的表达式会在缓存满时被淘汰
      *
-     * @param txt 检查的文本
-     * @return {@code true} 能够检查
-     * {@code false} 不能检查
+     * @param regexp 正则表达式
+     * @return 编译后的 NFA
      */
-    public boolean recognizes(String txt) {
-        Bag<Integer> pc = new Bag<>();
-        DirectedDFS dfs = new DirectedDFS(G, 0);
-
-        for (int v = 0; v < G.V(); v++) {
-            if (dfs.marked(v)) {
-                pc.add(v);
+    public static NFA compile(String regexp) {
+        if (regexp == null) {
+            throw new IllegalArgumentException("argument to compile() is null");
+        }
+        NFA nfa = CACHE.get(regexp);
+        if (nfa == null) {
+            // 在锁外编译，避免阻塞其他线程的查询
+            nfa = new NFA(regexp);
+            NFA prev = CACHE.putIfAbsent(regexp, nfa);
+            if (prev != null) {
+                nfa = prev;
             }
         }
+        return nfa;
+    }
 
-        for (int i = 0; i < txt.length(); i++) {
-            Bag<Integer> match = new Bag<>();
-            for (int v : pc) {
-                if (v < M) {
-                    if (re[v] == txt.charAt(i) || re[v] == '.') {
-                        match.add(v + 1);
+    /**
+     * 将正则表达式解析为词法单元，并展开 +、? 和 {m,n}
+     * <p>
+     * 展开后的量词变成了若干个操作数的副本，之后再出现的量词只会作用于最后一个副本，
+     * 因此量词之后只允许出现表示非贪婪的 ?，其余的量词都视为错误
+     *
+     * @param regexp 正则表达式
+     * @param out    存放词法单元的列表
+     */
+    private static void parse(String regexp, List<Token> out) {
+        int n = regexp.length();
+        int i = 0;
+        // 尚未闭合的 ( 的数量，不包括最外层的 (
+        int depth = 0;
+        // 上一个元素是量词，非贪婪的 ? 之后为 QUANTIFIED_LAZY
+        int quantified = 0;
+        while (i < n) {
+            char c = regexp.charAt(i++);
+            if (c == '*' || c == '+' || c == '?' || c == '{') {
+                if (quantified == QUANTIFIED && c == '?') {
+                    quantified = QUANTIFIED_LAZY;
+                    continue;
+                }
+                if (quantified == QUANTIFIED && c == '+') {
+                    throw new IllegalArgumentException("possessive quantifier is not supported in regexp: " + regexp);
+                }
+                if (quantified != 0) {
+                    throw new IllegalArgumentException("dangling quantifier " + c + " in regexp: " + regexp);
+                }
+                quantified = QUANTIFIED;
+            } else {
+                quantified = 0;
+            }
+            switch (c) {
+                case '(':
+                    out.add(new Token(LPAREN, null));
+                    depth++;
+                    break;
+                case ')':
+                    if (depth == 0) {
+                        throw new IllegalArgumentException("unbalanced parentheses in regexp: " + regexp);
+                    }
+                    out.add(new Token(RPAREN, null));
+                    depth--;
+                    break;
+                case '|':
+                    out.add(new Token(OR, null));
+                    break;
+                case '^':
+                    out.add(new Token(BOL, null));
+                    break;
+                case '$':
+                    out.add(new Token(EOL, null));
+                    break;
+                case '.':
+                    out.add(new Token(MATCH, new CharClass(new char[0], true)));
+                    break;
+                case '*':
+                    operandStart(out, regexp);
+                    out.add(new Token(STAR, null));
+                    break;
+                case '+': {
+                    List<Token> operand = operand(out, regexp);
+                    checkExpansion(out, 2L * operand.size() + 1, regexp);
+                    out.addAll(operand);
+                    out.addAll(operand);
+                    out.add(new Token(STAR, null));
+                    break;
+                }
+                case '?':
+                    optional(out, operand(out, regexp));
+                    break;
+                case '{': {
+                    int close = regexp.indexOf('}', i);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("unclosed repetition in regexp: " + regexp);
                     }
+                    repeat(out, operand(out, regexp), regexp.substring(i, close), regexp);
+                    i = close + 1;
+                    break;
+                }
+                case '[':
+                    i = parseClass(regexp, i, out);
+                    break;
+                case '\\':
+                    if (i == n) {
+                        throw new IllegalArgumentException("trailing backslash in regexp: " + regexp);
+                    }
+                    out.add(new Token(MATCH, escape(regexp.charAt(i++))));
+                    break;
+                default:
+                    out.add(new Token(MATCH, new CharClass(new char[]{c, c}, false)));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 查找量词作用的操作数的起始位置
+     *
+     * @param out    已解析的词法单元
+     * @param regexp 正则表达式
+     * @return 操作数的起始下标
+     */
+    private static int operandStart(List<Token> out, String regexp) {
+        int last = out.size() - 1;
+        int t = last < 0 ? OR : out.get(last).type;
+        if (t == MATCH) {
+            return last;
+        }
+        if (t == RPAREN) {
+            int depth = 0;
+            for (int j = last; j >= 0; j--) {
+                if (out.get(j).type == RPAREN) {
+                    depth++;
+                } else if (out.get(j).type == LPAREN && --depth == 0) {
+                    return j;
+                }
+            }
+        }
+        throw new IllegalArgumentException("nothing to repeat in regexp: " + regexp);
+    }
+
+    /**
+     * 将量词作用的操作数从列表中移除并返回
+     *
+     * @param out    已解析的词法单元
+     * @param regexp 正则表达式
+     * @return 操作数的词法单元
+     */
+    private static List<Token> operand(List<Token> out, String regexp) {
+        List<Token> tail = out.subList(operandStart(out, regexp), out.size());
+        List<Token> operand = new ArrayList<>(tail);
+        tail.clear();
+        return operand;
+    }
+
+    /**
+     * 检查展开量词后的词法单元数是否超过上限
+     *
+     * @param out    已解析的词法单元
+     * @param added  即将加入的词法单元数
+     * @param regexp 正则表达式
+     */
+    private static void checkExpansion(List<Token> out, long added, String regexp) {
+        if (out.size() + added > MAX_TOKENS) {
+            throw new IllegalArgumentException("repetition expands to too many states in regexp: " + regexp);
+        }
+    }
+
+    /**
+     * 将 X? 改写为 (X|)
+     *
+     * @param out     已解析的词法单元
+     * @param operand 操作数
+     */
+    private static void optional(List<Token> out, List<Token> operand) {
+        out.add(new Token(LPAREN, null));
+        out.addAll(operand);
+        out.add(new Token(OR, null));
+        out.add(new Token(RPAREN, null));
+    }
+
+    /**
+     * 将 X{m}、X{m,}、X{m,n} 改写为 m 个 X 加上 X* 或 n - m 个 (X|)
+     *
+     * @param out     已解析的词法单元
+     * @param operand 操作数
+     * @param bounds  花括号内的内容
+     * @param regexp  正则表达式
+     */
+    private static void repeat(List<Token> out, List<Token> operand, String bounds, String regexp) {
+        int comma = bounds.indexOf(',');
+        int min;
+        int max;
+        try {
+            if (comma < 0) {
+                min = Integer.parseInt(bounds.trim());
+                max = min;
+            } else {
+                min = Integer.parseInt(bounds.substring(0, comma).trim());
+                String hi = bounds.substring(comma + 1).trim();
+                max = hi.isEmpty() ? -1 : Integer.parseInt(hi);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("illegal repetition {" + bounds + "} in regexp: " + regexp);
+        }
+        if (min < 0 || min > MAX_REPEAT || max > MAX_REPEAT || (max >= 0 && max < min)) {
+            throw new IllegalArgumentException("illegal repetition {" + bounds + "} in regexp: " + regexp);
+        }
+        // 内层的重复已经展开在操作数中，按展开后的长度累计，嵌套的重复不会绕过上限
+        long size = operand.size();
+        checkExpansion(out, min * size + (max < 0 ? size + 1 : (max - min) * (size + 3)), regexp);
+
+        for (int k = 0; k < min; k++) {
+            out.addAll(operand);
+        }
+        if (max < 0) {
+            out.addAll(operand);
+            out.add(new Token(STAR, null));
+        } else {
+            for (int k = min; k < max; k++) {
+                optional(out, operand);
+            }
+        }
+    }
+
+    /**
+     * 解析 [...] 字符类
+     *
+     * @param regexp 正则表达式
+     * @param i      [ 之后的第一个字符的位置
+     * @param out    存放词法单元的列表
+     * @return ] 之后的第一个字符的位置
+     */
+    private static int parseClass(String regexp, int i, List<Token> out) {
+        int n = regexp.length();
+        boolean negated = i < n && regexp.charAt(i) == '^';
+        if (negated) {
+            i++;
+        }
+        StringBuilder ranges = new StringBuilder();
+        boolean first = true;
+        while (i < n && (regexp.charAt(i) != ']' || first)) {
+            first = false;
+            char lo = regexp.charAt(i++);
+            if (lo == '\\' && i < n) {
+                CharClass esc = escape(regexp.charAt(i++));
+                if (esc.negated || esc.ranges.length != 2 || esc.ranges[0] != esc.ranges[1]) {
+                    // \d、\w 等简写，取反的简写无法并入区间，直接展开为补集
+                    ranges.append(esc.negated ? complement(esc.ranges) : esc.ranges);
+                    continue;
                 }
+                lo = esc.ranges[0];
             }
+            char hi = lo;
+            if (i + 1 < n && regexp.charAt(i) == '-' && regexp.charAt(i + 1) != ']') {
+                hi = regexp.charAt(i + 1);
+                i += 2;
+                if (hi == '\\' && i < n) {
+                    hi = escape(regexp.charAt(i++)).ranges[0];
+                }
+                if (hi < lo) {
+                    throw new IllegalArgumentException("illegal character range in regexp: " + regexp);
+                }
+            }
+            ranges.append(lo).append(hi);
+        }
+        if (i >= n) {
+            throw new IllegalArgumentException("unclosed character class in regexp: " + regexp);
+        }
+        out.add(new Token(MATCH, new CharClass(ranges.toString().toCharArray(), negated)));
+        return i + 1;
+    }
 
-            pc = new Bag<>();
-            dfs = new DirectedDFS(G, match);
+    /**
+     * 解析转义字符
+     *
+     * @param c \ 之后的字符
+     * @return 对应的字符类
+     */
+    private static CharClass escape(char c) {
+        switch (c) {
+            case 'd':
+                return new CharClass(new char[]{'0', '9'}, false);
+            case 'D':
+                return new CharClass(new char[]{'0', '9'}, true);
+            case 'w':
+                return new CharClass(new char[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'}, false);
+            case 'W':
+                return new CharClass(new char[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'}, true);
+            case 's':
+                return new CharClass(new char[]{'\t', '\r', ' ', ' '}, false);
+            case 'S':
+                return new CharClass(new char[]{'\t', '\r', ' ', ' '}, true);
+            case 't':
+                return new CharClass(new char[]{'\t', '\t'}, false);
+            case 'n':
+                return new CharClass(new char[]{'\n', '\n'}, false);
+            case 'r':
+                return new CharClass(new char[]{'\r', '\r'}, false);
+            default:
+                return new CharClass(new char[]{c, c}, false);
+        }
+    }
+
+    /**
+     * 计算有序区间的补集
+     *
+     * @param ranges 有序且不相交的区间
+     * @return 补集区间
+     */
+    private static char[] complement(char[] ranges) {
+        StringBuilder s = new StringBuilder();
+        int next = Character.MIN_VALUE;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                s.append((char) next).append((char) (ranges[i] - 1));
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_VALUE) {
+            s.append((char) next).append(Character.MAX_VALUE);
+        }
+        return s.toString().toCharArray();
+    }
 
-            for (int v = 0; v < G.V(); v++) {
-                if (dfs.marked(v)) {
-                    pc.add(v);
+    /**
+     * 计算从起始状态集合出发，经由 epsilon 转换可以到达的状态
+     * <p>
+     * ^ 只在文本开头、$ 只在文本结尾时才可以通过
+     *
+     * @param sources 起始状态
+     * @param count   起始状态的数量
+     * @param pos     当前在文本中的位置
+     * @param n       文本的长度
+     * @param marked  标记可达状态的数组，会被清空后重新填充
+     * @param stack   深度优先搜索使用的栈
+     * @return 可达状态的数量，状态依次存放在 sources 中
+     */
+    private int closure(int[] sources, int count, int pos, int n, boolean[] marked, int[] stack) {
+        Arrays.fill(marked, false);
+        int top = 0;
+        int reached = 0;
+        for (int i = 0; i < count; i++) {
+            if (!marked[sources[i]]) {
+                marked[sources[i]] = true;
+                stack[top++] = sources[i];
+            }
+        }
+        while (top > 0) {
+            int v = stack[--top];
+            sources[reached++] = v;
+            for (int w : G.adj(v)) {
+                if (!marked[w]) {
+                    marked[w] = true;
+                    stack[top++] = w;
                 }
             }
+            if (v < M && ((type[v] == BOL && pos == 0) || (type[v] == EOL && pos == n)) && !marked[v + 1]) {
+                marked[v + 1] = true;
+                stack[top++] = v + 1;
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * 模拟 NFA 的运行
+     *
+     * @param txt      检查的文本
+     * @param anywhere 是否允许从文本的任意位置开始匹配
+     * @return 是否存在匹配
+     */
+    private boolean simulate(String txt, boolean anywhere) {
+        int n = txt.length();
+        boolean[] marked = new boolean[M + 1];
+        int[] pc = new int[M + 1];
+        int[] next = new int[M + 1];
+        int[] stack = new int[M + 1];
+        pc[0] = 0;
+        int count = closure(pc, 1, 0, n, marked, stack);
+        if (anywhere && marked[M]) {
+            return true;
         }
 
-        for (int v : pc) {
-            if (v == M) {
+        for (int i = 0; i < n; i++) {
+            char c = txt.charAt(i);
+            int matched = 0;
+            for (int j = 0; j < count; j++) {
+                int v = pc[j];
+                if (v < M && type[v] == MATCH && match[v].matches(c)) {
+                    next[matched++] = v + 1;
+                }
+            }
+            if (anywhere) {
+                next[matched++] = 0;
+            } else if (matched == 0) {
+                return false;
+            }
+
+            int[] t = pc;
+            pc = next;
+            next = t;
+            count = closure(pc, matched, i + 1, n, marked, stack);
+            if (anywhere && marked[M]) {
                 return true;
             }
         }
 
-        return false;
+        return marked[M];
+    }
+
+    /**
+     * NFA 能否识别整个文本
+     *
+     * @param txt 检查的文本
+     * @return {@code true} 能够识别
+     * {@code false} 不能识别
+     */
+    public boolean recognizes(String txt) {
+        if (txt == null) {
+            throw new IllegalArgumentException("argument to recognizes() is null");
+        }
+        return simulate(txt, false);
+    }
+
+    /**
+     * 检查文本中是否存在与正则表达式匹配的子串，^ 和 $ 分别锚定文本的开头和结尾
+     *
+     * @param txt 检查的文本
+     * @return {@code true} 存在匹配的子串
+     * {@code false} 不存在匹配的子串
+     */
+    public boolean find(String txt) {
+        if (txt == null) {
+            throw new IllegalArgumentException("argument to find() is null");
+        }
+        return simulate(txt, true);
     }
 
     /**
@@ -114,7 +646,8 @@ public class NFA {
     public static void main(String[] args) {
         String regexp = "(" + args[0] + ")";
         String txt = args[1];
-        NFA nfa = new NFA(regexp);
+        NFA nfa = NFA.compile(regexp);
         StdOut.println(nfa.recognizes(txt));
+        StdOut.println(nfa.find(txt));
     }
 }
@@ -0,0 +1,186 @@
+package io.metatom.string;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 分块并行的哈夫曼压缩
+ * <p>
+ * 输入被切分为固定大小的块，每个块使用独立的范式哈夫曼编码，因此各块可以在 ForkJoinPool 中并行压缩和解压，
+ * 并且可以通过索引随机访问任意一块。文件格式见 {@link BlockFile}，每个块的数据为：
+ * 256 个编码长度（各 8 位），然后是编码后的比特流
+ *
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class ParallelHuffman {
+    /**
+     * 文件格式的魔数
+     */
+    private static final int MAGIC = 0x48554642;
+    /**
+     * 默认的块大小
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    /**
+     * 块的编解码器
+     */
+    private static final BlockCodec CODEC = new BlockCodec() {
+        @Override
+        public byte[] compress(ByteBuffer block) throws IOException {
+            return compressBlock(block);
+        }
+
+        @Override
+        public byte[] expand(ByteBuffer block, int raw) throws IOException {
+            return expandBlock(block, raw);
+        }
+    };
+
+    /**
+     * 使用公共线程池和默认块大小压缩文件
+     *
+     * @param source 原始文件
+     * @param target 压缩后的文件
+     * @throws IOException 读写失败
+     */
+    public static void compress(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            compress(in, out, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+        }
+    }
+
+    /**
+     * 使用公共线程池解压文件
+     *
+     * @param source 压缩后的文件
+     * @param target 解压后的文件
+     * @throws IOException 读写失败
+     */
+    public static void expand(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            expand(in, out, ForkJoinPool.commonPool());
+        }
+    }
+
+    /**
+     * 压缩
+     *
+     * @param in        输入文件
+     * @param out       输出文件
+     * @param blockSize 块大小
+     * @param pool      执行压缩的线程池
+     * @throws IOException 读写失败
+     */
+    public static void compress(FileChannel in, FileChannel out, int blockSize, ForkJoinPool pool) throws IOException {
+        BlockFile.compress(in, out, blockSize, pool, MAGIC, CODEC);
+    }
+
+    /**
+     * 解压
+     *
+     * @param in   压缩后的文件
+     * @param out  输出文件
+     * @param pool 执行解压的线程池
+     * @throws IOException 读写失败
+     */
+    public static void expand(FileChannel in, FileChannel out, ForkJoinPool pool) throws IOException {
+        BlockFile.expand(in, out, pool, MAGIC, CODEC);
+    }
+
+    /**
+     * 随机访问并解压指定的块，只读取文件头、该块的索引项和块数据
+     *
+     * @param in    压缩后的文件
+     * @param block 块的序号
+     * @return 解压后的块
+     * @throws IOException 读取失败
+     */
+    public static byte[] expandBlock(FileChannel in, int block) throws IOException {
+        return BlockFile.expandBlock(in, block, MAGIC, CODEC);
+    }
+
+    /**
+     * 获取压缩文件中块的数量
+     *
+     * @param in 压缩后的文件
+     * @return 块的数量
+     * @throws IOException 读取失败
+     */
+    public static int blocks(FileChannel in) throws IOException {
+        return BlockFile.blocks(in, MAGIC);
+    }
+
+    /**
+     * 压缩一个块
+     *
+     * @param block 块数据
+     * @return 压缩后的块
+     * @throws IOException 编码失败
+     */
+    private static byte[] compressBlock(ByteBuffer block) throws IOException {
+        long[] freq = new long[HuffmanCode.R];
+        for (int i = block.position(); i < block.limit(); i++) {
+            freq[block.get(i) & 0xff]++;
+        }
+        HuffmanCode code = HuffmanCode.of(freq, HuffmanCode.TABLE_BITS);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.remaining() / 2 + HuffmanCode.R);
+        BinaryChannelOut bits = new BinaryChannelOut(Channels.newChannel(bytes));
+        code.writeLengths(bits);
+        while (block.hasRemaining()) {
+            code.encode(block.get() & 0xff, bits);
+        }
+        bits.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解压一个块
+     *
+     * @param block 压缩后的块
+     * @param raw   原始长度
+     * @return 解压后的块
+     * @throws IOException 解码失败
+     */
+    private static byte[] expandBlock(ByteBuffer block, int raw) throws IOException {
+        BinaryChannelIn bits = new BinaryChannelIn(Channels.newChannel(
+                new ByteArrayInputStream(block.array(), block.position(), block.remaining())));
+        HuffmanCode code = HuffmanCode.readLengths(bits);
+        byte[] data = new byte[raw];
+        code.decode(bits, data, 0, raw);
+        return data;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        switch (args[0]) {
+            case "-":
+                compress(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            case "+":
+                expand(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal command line argument");
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+
+/**
+ * 基于基数树（Patricia 树）的符号表
+ * <p>
+ * 与 {@link TriesST} 和 {@link TST} 每个字符一个节点不同，基数树将只有一个子节点且不含值的节点链压缩为一条边，
+ * 边上保存一个字符串。长键共享前缀较多时（如文件路径、URL）节点数大大减少，
+ * 查找时每条边只需要一次字符串比较。子节点按照边的首字符升序存放，使用二分查找
+ *
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RadixST<Value> {
+    /**
+     * 共享的空字符数组
+     */
+    private static final char[] NO_LABELS = new char[0];
+    /**
+     * 共享的空链接数组
+     */
+    private static final Node[] NO_CHILDREN = new Node[0];
+    /**
+     * 根节点，边为空字符串
+     */
+    private final Node root = new Node("");
+    /**
+     * key 的数量
+     */
+    private int n;
+
+    /**
+     * 内部定义的节点类
+     */
+    private static class Node {
+        /**
+         * 从父节点到该节点的边上的字符串
+         */
+        private String label;
+        private Object val;
+        /**
+         * 子节点的边的首字符，升序排列
+         */
+        private char[] firsts = NO_LABELS;
+        private Node[] next = NO_CHILDREN;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * 获取边的首字符为 c 的子节点
+         *
+         * @param c 边的首字符
+         * @return 子节点，不存在时为 null
+         */
+        Node child(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            return i >= 0 ? next[i] : null;
+        }
+
+        /**
+         * 设置边的首字符为 c 的子节点，子节点为 null 时移除该链接
+         *
+         * @param c     边的首字符
+         * @param child 子节点
+         */
+        void setChild(char c, Node child) {
+            int i = Arrays.binarySearch(firsts, c);
+            if (i >= 0) {
+                if (child != null) {
+                    next[i] = child;
+                    return;
+                }
+                int size = firsts.length - 1;
+                char[] newFirsts = size == 0 ? NO_LABELS : new char[size];
+                Node[] newNext = size == 0 ? NO_CHILDREN : new Node[size];
+                System.arraycopy(firsts, 0, newFirsts, 0, i);
+                System.arraycopy(firsts, i + 1, newFirsts, i, size - i);
+                System.arraycopy(next, 0, newNext, 0, i);
+                System.arraycopy(next, i + 1, newNext, i, size - i);
+                firsts = newFirsts;
+                next = newNext;
+            } else if (child != null) {
+                i = -(i + 1);
+                int size = firsts.length + 1;
+                char[] newFirsts = new char[size];
+                Node[] newNext = new Node[size];
+                System.arraycopy(firsts, 0, newFirsts, 0, i);
+                System.arraycopy(firsts, i, newFirsts, i + 1, size - 1 - i);
+                System.arraycopy(next, 0, newNext, 0, i);
+                System.arraycopy(next, i, newNext, i + 1, size - 1 - i);
+                newFirsts[i] = c;
+                newNext[i] = child;
+                firsts = newFirsts;
+                next = newNext;
+            }
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    public RadixST() {
+    }
+
+    /**
+     * 获取 key 的数量
+     *
+     * @return key 的数量
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 符号表是否为空
+     *
+     * @return {@code true} 符号表为空
+     * {@code false} 符号表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 计算 key 从 d 开始与边上字符串的最长公共前缀的长度
+     *
+     * @param label 边上的字符串
+     * @param key   键
+     * @param d     键的起始位置
+     * @return 公共前缀的长度
+     */
+    private static int common(String label, String key, int d) {
+        int max = Math.min(label.length(), key.length() - d);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(d + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 根据键获取值
+     *
+     * @param key 指定的键
+     * @return 值
+     */
+    public Value get(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        Node x = root;
+        int d = 0;
+        while (d < key.length()) {
+            x = x.child(key.charAt(d));
+            if (x == null || !key.startsWith(x.label, d)) {
+                return null;
+            }
+            d += x.label.length();
+        }
+        return (Value) x.val;
+    }
+
+    /**
+     * 检查指定的 key 是否在符号表中
+     *
+     * @param key 指定的 key
+     * @return {@code true} 在符号表表中
+     * {@code false} 不在符号表中
+     */
+    public boolean contains(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * 添加新的键值对，值为 null 时删除该键
+     *
+     * @param key 键
+     * @param val 值
+     */
+    public void put(String key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+
+        Node x = root;
+        int d = 0;
+        while (d < key.length()) {
+            char c = key.charAt(d);
+            Node child = x.child(c);
+            if (child == null) {
+                Node leaf = new Node(key.substring(d));
+                leaf.val = val;
+                x.setChild(c, leaf);
+                n++;
+                return;
+            }
+
+            int k = common(child.label, key, d);
+            if (k < child.label.length()) {
+                // 在公共前缀处分裂边
+                Node mid = new Node(child.label.substring(0, k));
+                child.label = child.label.substring(k);
+                mid.setChild(child.label.charAt(0), child);
+                x.setChild(c, mid);
+                child = mid;
+            }
+            x = child;
+            d += k;
+        }
+
+        if (x.val == null) {
+            n++;
+        }
+        x.val = val;
+    }
+
+    /**
+     * 删除指定的键
+     *
+     * @param key 指定的键
+     */
+    public void delete(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        delete(root, key, 0);
+    }
+
+    /**
+     * 在指定的节点下删除指定的键，并压缩删除后只剩一个子节点的路径
+     *
+     * @param x   指定的节点
+     * @param key 指定的键
+     * @param d   该节点对应的键的长度
+     * @return 删除后的节点，节点不再需要时为 null
+     */
+    private Node delete(Node x, String key, int d) {
+        if (d == key.length()) {
+            if (x.val != null) {
+                n--;
+                x.val = null;
+            }
+        } else {
+            char c = key.charAt(d);
+            Node child = x.child(c);
+            if (child == null || !key.startsWith(child.label, d)) {
+                return x;
+            }
+            x.setChild(c, delete(child, key, d + child.label.length()));
+        }
+
+        if (x == root || x.val != null) {
+            return x;
+        }
+        if (x.firsts.length == 0) {
+            return null;
+        }
+        if (x.firsts.length == 1) {
+            // 合并只有一个子节点的边
+            Node child = x.next[0];
+            child.label = x.label + child.label;
+            return child;
+        }
+        return x;
+    }
+
+    /**
+     * 获取符号表中所有的键
+     *
+     * @return 所有的键
+     */
+    public Iterable<String> keys() {
+        return keysWithPrefix("");
+    }
+
+    /**
+     * 查找指定前缀的键的集合
+     *
+     * @param prefix 指定的前缀
+     * @return 键的集合
+     */
+    public Iterable<String> keysWithPrefix(String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("argument to keysWithPrefix() is null");
+        }
+        Queue<String> q = new Queue<>();
+        Node x = root;
+        int d = 0;
+        while (d < prefix.length()) {
+            x = x.child(prefix.charAt(d));
+            if (x == null) {
+                return q;
+            }
+            int k = common(x.label, prefix, d);
+            if (k < x.label.length() && d + k < prefix.length()) {
+                return q;
+            }
+            d += x.label.length();
+        }
+        // 前缀可能结束在边的中间，补齐这条边
+        StringBuilder path = new StringBuilder(prefix);
+        path.append(x.label, x.label.length() - (d - prefix.length()), x.label.length());
+        collect(x, path, q);
+        return q;
+    }
+
+    /**
+     * 收集指定节点下的所有键
+     *
+     * @param x    指定的节点
+     * @param path 到达该节点的路径
+     * @param q    存储键的队列
+     */
+    private void collect(Node x, StringBuilder path, Queue<String> q) {
+        if (x.val != null) {
+            q.enqueue(path.toString());
+        }
+        for (Node child : x.next) {
+            path.append(child.label);
+            collect(child, path, q);
+            path.setLength(path.length() - child.label.length());
+        }
+    }
+
+    /**
+     * 在符号表中查找相匹配的键的集合，'.' 可以匹配任意字符
+     *
+     * @param pattern 匹配的字符串
+     * @return 键的集合
+     */
+    public Iterable<String> keysThatMatch(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("argument to keysThatMatch() is null");
+        }
+        Queue<String> q = new Queue<>();
+        collect(root, new StringBuilder(), pattern, q);
+        return q;
+    }
+
+    /**
+     * 在指定的节点下对指定的字符串进行匹配
+     *
+     * @param x       指定的节点
+     * @param path    到达该节点的路径
+     * @param pattern 匹配的字符串
+     * @param q       存储匹配的字符串
+     */
+    private void collect(Node x, StringBuilder path, String pattern, Queue<String> q) {
+        int d = path.length();
+        if (d == pattern.length()) {
+            if (x.val != null) {
+                q.enqueue(path.toString());
+            }
+            return;
+        }
+        char c = pattern.charAt(d);
+        if (c == '.') {
+            for (Node child : x.next) {
+                matchEdge(child, path, pattern, q);
+            }
+        } else {
+            Node child = x.child(c);
+            if (child != null) {
+                matchEdge(child, path, pattern, q);
+            }
+        }
+    }
+
+    /**
+     * 检查边上的字符串是否与模式匹配，匹配时继续在子节点中查找
+     *
+     * @param child   边指向的子节点
+     * @param path    到达父节点的路径
+     * @param pattern 匹配的字符串
+     * @param q       存储匹配的字符串
+     */
+    private void matchEdge(Node child, StringBuilder path, String pattern, Queue<String> q) {
+        int d = path.length();
+        String label = child.label;
+        if (d + label.length() > pattern.length()) {
+            return;
+        }
+        for (int i = 0; i < label.length(); i++) {
+            char p = pattern.charAt(d + i);
+            if (p != '.' && p != label.charAt(i)) {
+                return;
+            }
+        }
+        path.append(label);
+        collect(child, path, pattern, q);
+        path.setLength(d);
+    }
+
+    /**
+     * 查找指定字符串的最长前缀
+     *
+     * @param query 指定的字符串
+     * @return 最长的前缀
+     */
+    public String longestPrefixOf(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("argument to longestPrefixOf() is null");
+        }
+        int length = 0;
+        Node x = root;
+        int d = 0;
+        while (true) {
+            if (x.val != null) {
+                length = d;
+            }
+            if (d == query.length()) {
+                break;
+            }
+            x = x.child(query.charAt(d));
+            if (x == null || !query.startsWith(x.label, d)) {
+                break;
+            }
+            d += x.label.length();
+        }
+        return query.substring(0, length);
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        // build symbol table from standard input
+        RadixST<Integer> st = new RadixST<>();
+        for (int i = 0; !StdIn.isEmpty(); i++) {
+            String key = StdIn.readString();
+            st.put(key, i);
+        }
+
+        // print results
+        if (st.size() < 100) {
+            StdOut.println("keys(\"\"):");
+            for (String key : st.keys()) {
+                StdOut.println(key + " " + st.get(key));
+            }
+            StdOut.println();
+        }
+
+        StdOut.println("longestPrefixOf(\"shellsort\"):");
+        StdOut.println(st.longestPrefixOf("shellsort"));
+        StdOut.println();
+
+        StdOut.println("keysWithPrefix(\"shor\"):");
+        for (String s : st.keysWithPrefix("shor")) {
+            StdOut.println(s);
+        }
+        StdOut.println();
+
+        StdOut.println("keysThatMatch(\".he.l.\"):");
+        for (String s : st.keysThatMatch(".he.l.")) {
+            StdOut.println(s);
+        }
+    }
+}
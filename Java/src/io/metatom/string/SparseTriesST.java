@@ -0,0 +1,408 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.util.Arrays;
+
+/**
+ * 基于稀疏单词查找树的符号表
+ * <p>
+ * 与 {@link TriesST} 的接口相同，但每个节点只保存实际存在的子节点：
+ * 子节点的字符按升序存放在 char 数组中，对应的链接存放在等长的节点数组中，查找子节点时使用二分查找。
+ * 没有子节点的节点共享同一个空数组，因此内存占用与子节点总数成正比，而不是节点数乘以 R
+ *
+ * @param <Value> 泛型类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class SparseTriesST<Value> {
+    /**
+     * 共享的空字符数组
+     */
+    private static final char[] NO_LABELS = new char[0];
+    /**
+     * 共享的空链接数组
+     */
+    private static final Node[] NO_CHILDREN = new Node[0];
+    /**
+     * 根节点
+     */
+    private Node root;
+    /**
+     * key 的数量
+     */
+    private int n;
+
+    /**
+     * 内部定义的节点类
+     */
+    private static class Node {
+        private Object val;
+        private char[] labels = NO_LABELS;
+        private Node[] next = NO_CHILDREN;
+
+        /**
+         * 获取指定字符对应的子节点
+         *
+         * @param c 指定的字符
+         * @return 子节点，不存在时为 null
+         */
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? next[i] : null;
+        }
+
+        /**
+         * 设置指定字符对应的子节点，子节点为 null 时移除该链接
+         *
+         * @param c     指定的字符
+         * @param child 子节点
+         */
+        void setChild(char c, Node child) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                if (child != null) {
+                    next[i] = child;
+                    return;
+                }
+                // 移除链接
+                int size = labels.length - 1;
+                if (size == 0) {
+                    labels = NO_LABELS;
+                    next = NO_CHILDREN;
+                    return;
+                }
+                char[] newLabels = new char[size];
+                Node[] newNext = new Node[size];
+                System.arraycopy(labels, 0, newLabels, 0, i);
+                System.arraycopy(labels, i + 1, newLabels, i, size - i);
+                System.arraycopy(next, 0, newNext, 0, i);
+                System.arraycopy(next, i + 1, newNext, i, size - i);
+                labels = newLabels;
+                next = newNext;
+            } else if (child != null) {
+                // 在有序位置插入链接
+                i = -(i + 1);
+                int size = labels.length + 1;
+                char[] newLabels = new char[size];
+                Node[] newNext = new Node[size];
+                System.arraycopy(labels, 0, newLabels, 0, i);
+                System.arraycopy(labels, i, newLabels, i + 1, size - 1 - i);
+                System.arraycopy(next, 0, newNext, 0, i);
+                System.arraycopy(next, i, newNext, i + 1, size - 1 - i);
+                newLabels[i] = c;
+                newNext[i] = child;
+                labels = newLabels;
+                next = newNext;
+            }
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    public SparseTriesST() {
+    }
+
+    /**
+     * 获取键获取值
+     *
+     * @param key 指定的键
+     * @return 值
+     */
+    public Value get(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        Node x = get(root, key);
+        if (x == null) {
+            return null;
+        }
+        return (Value) x.val;
+    }
+
+    /**
+     * 查找指定节点下与 key 对应的节点
+     *
+     * @param x   指定的节点
+     * @param key 查找的键
+     * @return 相应的节点
+     */
+    private Node get(Node x, String key) {
+        for (int d = 0; x != null && d < key.length(); d++) {
+            x = x.child(key.charAt(d));
+        }
+        return x;
+    }
+
+    /**
+     * 检查指定的 key 是否在符号表中
+     *
+     * @param key 指定的 key
+     * @return {@code true} 在符号表表中
+     * {@code false} 不在符号表中
+     */
+    public boolean contains(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * 向单词树中添加新的字符串和相应的值
+     *
+     * @param key 用作查找符号的字符串
+     * @param val 字符串对应的值
+     */
+    public void put(String key, Value val) {
+        if (key == null) {
+            throw new IllegalArgumentException("first argument to put() is null");
+        }
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        if (root == null) {
+            root = new Node();
+        }
+        Node x = root;
+        for (int d = 0; d < key.length(); d++) {
+            char c = key.charAt(d);
+            Node child = x.child(c);
+            if (child == null) {
+                child = new Node();
+                x.setChild(c, child);
+            }
+            x = child;
+        }
+        if (x.val == null) {
+            n++;
+        }
+        x.val = val;
+    }
+
+    /**
+     * 获取 key 的数量
+     *
+     * @return key 的数量
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 符号表是否为空
+     *
+     * @return {@code true} 符号表为空
+     * {@code false} 符号表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 获取符号表中所有的键
+     *
+     * @return 所有的键
+     */
+    public Iterable<String> keys() {
+        return keysWithPrefix("");
+    }
+
+    /**
+     * 查找指定前缀的键的集合
+     *
+     * @param pre 指定的前缀
+     * @return 键的集合
+     */
+    public Iterable<String> keysWithPrefix(String pre) {
+        if (pre == null) {
+            throw new IllegalArgumentException("argument to keysWithPrefix() is null");
+        }
+        Queue<String> q = new Queue<>();
+        collect(get(root, pre), new StringBuilder(pre), q);
+        return q;
+    }
+
+    /**
+     * 在指定节点下获取指定前缀的键的集合
+     *
+     * @param x   指定的节点
+     * @param pre 指定的前缀
+     * @param q   存储键的队列
+     */
+    private void collect(Node x, StringBuilder pre, Queue<String> q) {
+        if (x == null) {
+            return;
+        }
+        if (x.val != null) {
+            q.enqueue(pre.toString());
+        }
+        for (int i = 0; i < x.labels.length; i++) {
+            pre.append(x.labels[i]);
+            collect(x.next[i], pre, q);
+            pre.deleteCharAt(pre.length() - 1);
+        }
+    }
+
+    /**
+     * 在符号表中查找相匹配的键的集合，'.' 可以匹配任意字符
+     *
+     * @param pat 匹配的字符串
+     * @return 键的集合
+     */
+    public Iterable<String> keysThatMatch(String pat) {
+        if (pat == null) {
+            throw new IllegalArgumentException("argument to keysThatMatch() is null");
+        }
+        Queue<String> q = new Queue<>();
+        collect(root, new StringBuilder(), pat, q);
+        return q;
+    }
+
+    /**
+     * 在指定的节点和前缀下，对指定的字符串进行匹配
+     *
+     * @param x   指定的节点
+     * @param pre 指定的前缀
+     * @param pat 匹配的字符串
+     * @param q   存储匹配的字符串
+     */
+    private void collect(Node x, StringBuilder pre, String pat, Queue<String> q) {
+        if (x == null) {
+            return;
+        }
+        int d = pre.length();
+        if (d == pat.length()) {
+            if (x.val != null) {
+                q.enqueue(pre.toString());
+            }
+            return;
+        }
+
+        char next = pat.charAt(d);
+        if (next == '.') {
+            for (int i = 0; i < x.labels.length; i++) {
+                pre.append(x.labels[i]);
+                collect(x.next[i], pre, pat, q);
+                pre.deleteCharAt(pre.length() - 1);
+            }
+        } else {
+            pre.append(next);
+            collect(x.child(next), pre, pat, q);
+            pre.deleteCharAt(pre.length() - 1);
+        }
+    }
+
+    /**
+     * 查找指定字符串的最长前缀
+     *
+     * @param s 指定的字符串
+     * @return 最长的前缀
+     */
+    public String longestPrefixOf(String s) {
+        if (s == null) {
+            throw new IllegalArgumentException("argument to longestPrefixOf is null");
+        }
+        int length = 0;
+        Node x = root;
+        for (int d = 0; x != null; d++) {
+            if (x.val != null) {
+                length = d;
+            }
+            if (d == s.length()) {
+                break;
+            }
+            x = x.child(s.charAt(d));
+        }
+        return s.substring(0, length);
+    }
+
+    /**
+     * 删除指定的字符串
+     *
+     * @param key 指定的字符串
+     */
+    public void delete(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to delete() is null");
+        }
+        root = delete(root, key, 0);
+    }
+
+    /**
+     * 在指定的节点下删除指定的字符串
+     *
+     * @param x   指定的节点
+     * @param key 指定的字符串
+     * @param d   用于选择单词树的分支，标记已选字符串长度
+     * @return 删除后指定的节点
+     */
+    private Node delete(Node x, String key, int d) {
+        if (x == null) {
+            return null;
+        }
+        if (d == key.length()) {
+            if (x.val != null) {
+                n--;
+            }
+            x.val = null;
+        } else {
+            char c = key.charAt(d);
+            Node child = x.child(c);
+            if (child != null) {
+                x.setChild(c, delete(child, key, d + 1));
+            }
+        }
+        if (x.val != null || x.labels.length > 0) {
+            return x;
+        }
+        return null;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        // build symbol table from standard input
+        SparseTriesST<Integer> st = new SparseTriesST<>();
+        for (int i = 0; !StdIn.isEmpty(); i++) {
+            String key = StdIn.readString();
+            st.put(key, i);
+        }
+
+        // print results
+        if (st.size() < 100) {
+            StdOut.println("keys(\"\"):");
+            for (String key : st.keys()) {
+                StdOut.println(key + " " + st.get(key));
+            }
+            StdOut.println();
+        }
+
+        StdOut.println("longestPrefixOf(\"shellsort\"):");
+        StdOut.println(st.longestPrefixOf("shellsort"));
+        StdOut.println();
+
+        StdOut.println("longestPrefixOf(\"quicksort\"):");
+        StdOut.println(st.longestPrefixOf("quicksort"));
+        StdOut.println();
+
+        StdOut.println("keysWithPrefix(\"shor\"):");
+        for (String s : st.keysWithPrefix("shor")) {
+            StdOut.println(s);
+        }
+        StdOut.println();
+
+        StdOut.println("keysThatMatch(\".he.l.\"):");
+        for (String s : st.keysThatMatch(".he.l.")) {
+            StdOut.println(s);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Function;
+
+/**
+ * 基于 LOUDS 的静态简洁单词查找树
+ * <p>
+ * 将 {@link TST} 或 {@link TriesST} 冻结为不可变的简洁表示并写入文件，加载时通过内存映射直接在文件上查找，
+ * 不需要重新构造节点，启动时间与文件大小无关。
+ * <p>
+ * 节点按照广度优先的顺序编号，根节点为 0。LOUDS 位串以 "10" 开头表示虚拟的超级根，
+ * 随后对每个节点依次写入与子节点数相同个数的 1 和一个 0，于是节点 k 的子节点位于第 k 个 0 和第 k + 1 个 0 之间，
+ * 并且编号连续。每个节点（根节点除外）的入边字符保存在 labels 中，兄弟节点的字符升序排列，查找子节点时使用二分查找；
+ * 是否为键的结尾保存在 terminal 位串中，值的下标为 terminal 在该节点之前 1 的个数。
+ * select0 使用每 {@value #SELECT_SAMPLE} 个 0 一个的采样加扫描，rank 使用每 {@value #RANK_BLOCK} 个字一个的累计计数。
+ * <p>
+ * 文件格式（大端序）：8 个 int 的文件头（魔数、节点数、键数、LOUDS 的字数、terminal 的字数、采样数、rank 块数、保留），
+ * 然后依次是 LOUDS、terminal、select0 采样、rank 计数、值和 labels。文件大小不能超过 2GB
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class StaticTrie {
+    /**
+     * 文件格式的魔数
+     */
+    private static final int MAGIC = 0x4c4f5544;
+    /**
+     * 文件头的字节数
+     */
+    private static final int HEADER = 8 * Integer.BYTES;
+    /**
+     * select0 的采样间隔
+     */
+    private static final int SELECT_SAMPLE = 256;
+    /**
+     * rank 的块大小（字数）
+     */
+    private static final int RANK_BLOCK = 8;
+
+    /**
+     * 节点的数量
+     */
+    private final int nodes;
+    /**
+     * 键的数量
+     */
+    private final int n;
+    private final LongBuffer louds;
+    private final LongBuffer terminal;
+    /**
+     * select0 的采样，第 j 个元素为第 j * SELECT_SAMPLE 个 0 的位置
+     */
+    private final IntBuffer samples;
+    /**
+     * rank 的累计计数，第 j 个元素为 terminal 前 j * RANK_BLOCK 个字中 1 的个数
+     */
+    private final IntBuffer ranks;
+    private final IntBuffer values;
+    private final CharBuffer labels;
+
+    /**
+     * 构造方法
+     *
+     * @param buffer 序列化后的数据
+     */
+    private StaticTrie(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not a static trie");
+        }
+        nodes = buffer.getInt(4);
+        n = buffer.getInt(8);
+        int loudsWords = buffer.getInt(12);
+        int terminalWords = buffer.getInt(16);
+        int sampleCount = buffer.getInt(20);
+        int rankCount = buffer.getInt(24);
+
+        int offset = HEADER;
+        louds = buffer.slice(offset, loudsWords * Long.BYTES).asLongBuffer();
+        offset += loudsWords * Long.BYTES;
+        terminal = buffer.slice(offset, terminalWords * Long.BYTES).asLongBuffer();
+        offset += terminalWords * Long.BYTES;
+        samples = buffer.slice(offset, sampleCount * Integer.BYTES).asIntBuffer();
+        offset += sampleCount * Integer.BYTES;
+        ranks = buffer.slice(offset, rankCount * Integer.BYTES).asIntBuffer();
+        offset += rankCount * Integer.BYTES;
+        values = buffer.slice(offset, n * Integer.BYTES).asIntBuffer();
+        offset += n * Integer.BYTES;
+        labels = buffer.slice(offset, nodes * Character.BYTES).asCharBuffer();
+    }
+
+    /**
+     * 内存映射并加载文件
+     *
+     * @param source 文件
+     * @return 静态单词查找树
+     * @throws IOException 读取失败
+     */
+    public static StaticTrie load(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            // 映射在通道关闭后仍然有效
+            return new StaticTrie(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 将 TST 冻结后写入文件
+     *
+     * @param st     符号表
+     * @param target 目标文件
+     * @throws IOException 写入失败
+     */
+    public static void write(TST<Integer> st, Path target) throws IOException {
+        write(st.keys(), st::get, target);
+    }
+
+    /**
+     * 将 TriesST 冻结后写入文件
+     *
+     * @param st     符号表
+     * @param target 目标文件
+     * @throws IOException 写入失败
+     */
+    public static void write(TriesST<Integer> st, Path target) throws IOException {
+        write(st.keys(), st::get, target);
+    }
+
+    /**
+     * 将有序的键和对应的值写入文件
+     *
+     * @param keys   按字符升序排列且不重复的键
+     * @param value  获取键对应的值
+     * @param target 目标文件
+     * @throws IOException 写入失败
+     */
+    public static void write(Iterable<String> keys, Function<String, Integer> value, Path target) throws IOException {
+        Queue<String> q = new Queue<>();
+        String prev = null;
+        for (String key : keys) {
+            if (prev != null && prev.compareTo(key) >= 0) {
+                throw new IllegalArgumentException("keys are not sorted: " + prev + ", " + key);
+            }
+            q.enqueue(key);
+            prev = key;
+        }
+        String[] a = new String[q.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = q.dequeue();
+        }
+
+        // 按广度优先的顺序遍历，每个节点对应 a 中有相同前缀的一段 [lo, hi)，depth 为前缀的长度
+        BitSet bits = new BitSet();
+        BitSet ends = new BitSet();
+        StringBuilder chars = new StringBuilder();
+        int[] vals = new int[a.length];
+        int pos = 0;
+        bits.set(pos);
+        pos += 2;
+        chars.append('\0');
+        int nodeCount = 0;
+        int keyCount = 0;
+        Queue<int[]> ranges = new Queue<>();
+        ranges.enqueue(new int[]{0, a.length, 0});
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.dequeue();
+            int lo = range[0];
+            int hi = range[1];
+            int depth = range[2];
+            if (lo < hi && a[lo].length() == depth) {
+                Integer val = value.apply(a[lo]);
+                if (val == null) {
+                    throw new IllegalArgumentException("no value for key " + a[lo]);
+                }
+                ends.set(nodeCount);
+                vals[keyCount++] = val;
+                lo++;
+            }
+            nodeCount++;
+            while (lo < hi) {
+                char c = a[lo].charAt(depth);
+                int end = lo + 1;
+                while (end < hi && a[end].charAt(depth) == c) {
+                    end++;
+                }
+                bits.set(pos++);
+                chars.append(c);
+                ranges.enqueue(new int[]{lo, end, depth + 1});
+                lo = end;
+            }
+            pos++;
+        }
+
+        long[] loudsWords = Arrays.copyOf(bits.toLongArray(), (pos + 63) >>> 6);
+        long[] terminalWords = Arrays.copyOf(ends.toLongArray(), (nodeCount + 63) >>> 6);
+        int[] sampleArray = new int[(nodeCount + 1 + SELECT_SAMPLE - 1) / SELECT_SAMPLE];
+        for (int i = 0, zeros = 0; i < pos; i++) {
+            if (!bits.get(i)) {
+                if (zeros % SELECT_SAMPLE == 0) {
+                    sampleArray[zeros / SELECT_SAMPLE] = i;
+                }
+                zeros++;
+            }
+        }
+        int[] rankArray = new int[(terminalWords.length + RANK_BLOCK - 1) / RANK_BLOCK];
+        for (int w = 0, count = 0; w < terminalWords.length; w++) {
+            if (w % RANK_BLOCK == 0) {
+                rankArray[w / RANK_BLOCK] = count;
+            }
+            count += Long.bitCount(terminalWords[w]);
+        }
+
+        long size = HEADER + (long) (loudsWords.length + terminalWords.length) * Long.BYTES
+                + (long) (sampleArray.length + rankArray.length + keyCount) * Integer.BYTES
+                + (long) nodeCount * Character.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("static trie too large: " + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(nodeCount).putInt(keyCount)
+                .putInt(loudsWords.length).putInt(terminalWords.length)
+                .putInt(sampleArray.length).putInt(rankArray.length).putInt(0);
+        for (long w : loudsWords) {
+            buffer.putLong(w);
+        }
+        for (long w : terminalWords) {
+            buffer.putLong(w);
+        }
+        for (int s : sampleArray) {
+            buffer.putInt(s);
+        }
+        for (int r : rankArray) {
+            buffer.putInt(r);
+        }
+        for (int i = 0; i < keyCount; i++) {
+            buffer.putInt(vals[i]);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            buffer.putChar(chars.charAt(i));
+        }
+        buffer.flip();
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * 获取 key 的数量
+     *
+     * @return key 的数量
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return {@code true} 为空
+     * {@code false} 不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 查找第 k 个 0（从 0 开始计数）在 LOUDS 中的位置
+     *
+     * @param k 0 的序号
+     * @return 位置
+     */
+    private int select0(int k) {
+        int pos = samples.get(k / SELECT_SAMPLE);
+        int remaining = k % SELECT_SAMPLE;
+        int w = pos >>> 6;
+        // 从采样位置所在的字开始，去掉该位置之前的位
+        long word = ~louds.get(w) & (-1L << (pos & 63));
+        while (true) {
+            int count = Long.bitCount(word);
+            if (remaining < count) {
+                for (int i = 0; i < remaining; i++) {
+                    word &= word - 1;
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            remaining -= count;
+            word = ~louds.get(++w);
+        }
+    }
+
+    /**
+     * 计算 terminal 中位置 i 之前 1 的个数
+     *
+     * @param i 位置
+     * @return 1 的个数
+     */
+    private int rank1(int i) {
+        int w = i >>> 6;
+        int count = ranks.get(w / RANK_BLOCK);
+        for (int j = w - w % RANK_BLOCK; j < w; j++) {
+            count += Long.bitCount(terminal.get(j));
+        }
+        return count + Long.bitCount(terminal.get(w) & ((1L << (i & 63)) - 1));
+    }
+
+    /**
+     * 节点是否为键的结尾
+     *
+     * @param node 节点
+     * @return {@code true} 是键的结尾
+     */
+    private boolean isTerminal(int node) {
+        return (terminal.get(node >>> 6) >>> (node & 63) & 1L) != 0;
+    }
+
+    /**
+     * 查找入边字符为 c 的子节点
+     *
+     * @param node 父节点
+     * @param c    入边字符
+     * @return 子节点，不存在时为 -1
+     */
+    private int child(int node, char c) {
+        int start = select0(node) + 1;
+        int degree = select0(node + 1) - start;
+        // start 之前有 node + 1 个 0，其余的 1 依次对应节点 0 到 first - 1
+        int lo = start - node - 1;
+        int hi = lo + degree - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels.get(mid);
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 根据键获取值
+     *
+     * @param key 指定的键
+     * @return 值，不存在时为 null
+     */
+    public Integer get(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to get() is null");
+        }
+        if (nodes == 0) {
+            return null;
+        }
+        int x = 0;
+        for (int d = 0; d < key.length(); d++) {
+            x = child(x, key.charAt(d));
+            if (x < 0) {
+                return null;
+            }
+        }
+        if (!isTerminal(x)) {
+            return null;
+        }
+        return values.get(rank1(x));
+    }
+
+    /**
+     * 检查指定的 key 是否存在
+     *
+     * @param key 指定的 key
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to contains() is null");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * 单元测试
+     * <p>
+     * 从标准输入读取键构造 TST，写入 args[0] 后重新加载，并查找其余的命令行参数
+     *
+     * @param args 命令行参数
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args[0]);
+        long start = System.nanoTime();
+        TST<Integer> st = new TST<>();
+        for (int i = 0; !StdIn.isEmpty(); i++) {
+            st.put(StdIn.readString(), i);
+        }
+        StdOut.printf("build TST: %d keys in %.1f ms%n", st.size(), (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        write(st, file);
+        StdOut.printf("write: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        StaticTrie trie = load(file);
+        StdOut.printf("load: %d keys in %.3f ms%n", trie.size(), (System.nanoTime() - start) / 1e6);
+
+        for (int i = 1; i < args.length; i++) {
+            StdOut.println(args[i] + " " + trie.get(args[i]));
+        }
+    }
+}
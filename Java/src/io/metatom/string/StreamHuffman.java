@@ -0,0 +1,160 @@
+package io.metatom.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于 NIO 通道的流式哈夫曼压缩
+ * <p>
+ * 与 {@link Huffman} 不同，输入不会被整体读入内存：
+ * 第一遍扫描统计字符出现次数，第二遍扫描查表编码，内存占用与输入大小无关。
+ * 编码长度被限制在 {@value HuffmanCode#TABLE_BITS} 位以内，解压时每次查表可以解码多个字符。
+ * 压缩后的格式为：原始长度（64 位）、256 个编码长度（各 8 位），然后是编码后的比特流
+ *
+ * @author igaozp
+ * @version 1.1
+ * @since 2026-10-19
+ */
+public class StreamHuffman {
+    /**
+     * 读取输入时缓冲区的大小
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 压缩
+     *
+     * @param in  可以重新定位的输入通道，从当前位置读到末尾
+     * @param out 输出通道
+     * @throws IOException 读写失败
+     */
+    public static void compress(SeekableByteChannel in, WritableByteChannel out) throws IOException {
+        long start = in.position();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        // 第一遍：统计字符出现的次数
+        long[] freq = new long[HuffmanCode.R];
+        long n = 0;
+        while (read(in, buffer)) {
+            n += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                freq[buffer.get() & 0xff]++;
+            }
+        }
+
+        HuffmanCode code = HuffmanCode.of(freq, HuffmanCode.TABLE_BITS);
+        BinaryChannelOut bits = new BinaryChannelOut(out);
+        bits.write(n);
+        code.writeLengths(bits);
+
+        // 第二遍：查表编码
+        in.position(start);
+        while (read(in, buffer)) {
+            while (buffer.hasRemaining()) {
+                code.encode(buffer.get() & 0xff, bits);
+            }
+        }
+        bits.flush();
+    }
+
+    /**
+     * 解压
+     *
+     * @param in  输入通道
+     * @param out 输出通道
+     * @throws IOException 读写失败
+     */
+    public static void expand(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        BinaryChannelIn bits = new BinaryChannelIn(in);
+        long n = bits.readLong();
+        HuffmanCode code = HuffmanCode.readLengths(bits);
+
+        byte[] block = new byte[BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        while (n > 0) {
+            int len = (int) Math.min(n, BUFFER_SIZE);
+            code.decode(bits, block, 0, len);
+            buffer.limit(len);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+            n -= len;
+        }
+    }
+
+    /**
+     * 压缩文件
+     *
+     * @param source 原始文件
+     * @param target 压缩后的文件
+     * @throws IOException 读写失败
+     */
+    public static void compress(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            compress(in, out);
+        }
+    }
+
+    /**
+     * 解压文件
+     *
+     * @param source 压缩后的文件
+     * @param target 解压后的文件
+     * @throws IOException 读写失败
+     */
+    public static void expand(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            expand(in, out);
+        }
+    }
+
+    /**
+     * 清空缓冲区后从通道读取数据，并切换到读模式
+     *
+     * @param in     输入通道
+     * @param buffer 缓冲区
+     * @return {@code true} 读取到了数据
+     * {@code false} 通道已经读完
+     * @throws IOException 读取失败
+     */
+    private static boolean read(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = in.read(buffer);
+        }
+        buffer.flip();
+        return read > 0;
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        switch (args[0]) {
+            case "-":
+                compress(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            case "+":
+                expand(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal command line argument");
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package io.metatom.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * 基于 NIO 通道的流式 LZW 压缩
+ * <p>
+ * 与 {@link LZW} 不同：
+ * <ul>
+ *     <li>字典使用开放地址法的整数散列表，以 (前缀编码, 字节) 为键，不再复制子字符串</li>
+ *     <li>编码宽度从 9 位开始随字典增长，最大可达 maxWidth 位，字典写满后输出 CLEAR 并重置字典</li>
+ *     <li>输入逐字节流式读取，不需要将全部输入读入内存</li>
+ * </ul>
+ * 压缩后的格式为：最大编码宽度（8 位），然后是变长的编码流，以 STOP 结束
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class StreamLZW {
+    /**
+     * 输入的字符数
+     */
+    private static final int R = 256;
+    /**
+     * 重置字典的编码
+     */
+    private static final int CLEAR = R;
+    /**
+     * 结束的编码
+     */
+    private static final int STOP = R + 1;
+    /**
+     * 第一个可分配的编码
+     */
+    private static final int FIRST = R + 2;
+    /**
+     * 最小的编码宽度
+     */
+    private static final int MIN_WIDTH = 9;
+    /**
+     * 允许的最大编码宽度，保证 (前缀编码, 字节) 可以放入一个 int
+     */
+    private static final int MAX_WIDTH = 24;
+    /**
+     * 默认的最大编码宽度
+     */
+    public static final int DEFAULT_WIDTH = 16;
+    /**
+     * 缓冲区的大小
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 根据下一个编码计算编码宽度
+     *
+     * @param next     下一个编码
+     * @param maxWidth 最大编码宽度
+     * @return 编码宽度
+     */
+    private static int width(int next, int maxWidth) {
+        return Math.min(maxWidth, Math.max(MIN_WIDTH, 32 - Integer.numberOfLeadingZeros(next)));
+    }
+
+    /**
+     * 使用默认的最大编码宽度压缩
+     *
+     * @param in  输入通道
+     * @param out 输出通道
+     * @throws IOException 读写失败
+     */
+    public static void compress(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        compress(in, out, DEFAULT_WIDTH);
+    }
+
+    /**
+     * 压缩
+     *
+     * @param in       输入通道
+     * @param out      输出通道
+     * @param maxWidth 最大编码宽度，9 到 24 之间
+     * @throws IOException 读写失败
+     */
+    public static void compress(ReadableByteChannel in, WritableByteChannel out, int maxWidth) throws IOException {
+        if (maxWidth < MIN_WIDTH || maxWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("Illegal value for maxWidth = " + maxWidth);
+        }
+        int limit = 1 << maxWidth;
+        // 装填因子不超过 1/2 的散列表，codes 为 0 表示空位
+        int mask = 2 * limit - 1;
+        int[] keys = new int[mask + 1];
+        int[] codes = new int[mask + 1];
+
+        BinaryChannelOut bits = new BinaryChannelOut(out);
+        bits.write(maxWidth, 8);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        int next = FIRST;
+        int prefix = -1;
+        while (read(in, buffer)) {
+            while (buffer.hasRemaining()) {
+                int b = buffer.get() & 0xff;
+                if (prefix < 0) {
+                    prefix = b;
+                    continue;
+                }
+
+                int key = (prefix << 8) | b;
+                int i = hash(key) & mask;
+                while (codes[i] != 0 && keys[i] != key) {
+                    i = (i + 1) & mask;
+                }
+                if (codes[i] != 0) {
+                    prefix = codes[i];
+                    continue;
+                }
+
+                bits.write(prefix, width(next, maxWidth));
+                keys[i] = key;
+                codes[i] = next++;
+                if (next == limit) {
+                    bits.write(CLEAR, width(next, maxWidth));
+                    Arrays.fill(codes, 0);
+                    next = FIRST;
+                }
+                prefix = b;
+            }
+        }
+
+        if (prefix >= 0) {
+            bits.write(prefix, width(next, maxWidth));
+            // 解码器读到最后一个编码时还会添加一项，STOP 的宽度需要与之保持一致
+            next++;
+        }
+        bits.write(STOP, width(next, maxWidth));
+        bits.flush();
+    }
+
+    /**
+     * 解压
+     *
+     * @param in  输入通道
+     * @param out 输出通道
+     * @throws IOException 读写失败
+     */
+    public static void expand(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        BinaryChannelIn bits = new BinaryChannelIn(in);
+        int maxWidth = bits.readInt(8);
+        if (maxWidth < MIN_WIDTH || maxWidth > MAX_WIDTH) {
+            throw new IllegalArgumentException("Illegal value for maxWidth = " + maxWidth);
+        }
+        int limit = 1 << maxWidth;
+        // 每个编码对应的前缀编码和最后一个字节
+        int[] prefix = new int[limit];
+        byte[] suffix = new byte[limit];
+        for (int c = 0; c < R; c++) {
+            suffix[c] = (byte) c;
+        }
+        // 用于逆序展开编码的栈
+        byte[] stack = new byte[limit];
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        int next = FIRST;
+        int prev = -1;
+        while (true) {
+            int code = bits.readInt(width(prev < 0 ? next : next + 1, maxWidth));
+            if (code == STOP) {
+                break;
+            }
+            if (code == CLEAR) {
+                next = FIRST;
+                prev = -1;
+                continue;
+            }
+            if (code > next || (prev < 0 && code >= R)) {
+                throw new IllegalArgumentException("corrupted LZW stream");
+            }
+
+            // 逆序展开编码，code == next 时为 cScSc 的特殊情况，最后一个字节等于前一个字符串的首字节
+            int top = 0;
+            int c = code;
+            if (code == next) {
+                top = 1;
+                c = prev;
+            }
+            while (c >= R) {
+                stack[top++] = suffix[c];
+                c = prefix[c];
+            }
+            stack[top++] = (byte) c;
+            byte first = (byte) c;
+            if (code == next) {
+                stack[0] = first;
+            }
+
+            if (prev >= 0 && next < limit) {
+                prefix[next] = prev;
+                suffix[next] = first;
+                next++;
+            }
+
+            while (top > 0) {
+                if (!buffer.hasRemaining()) {
+                    write(out, buffer);
+                }
+                buffer.put(stack[--top]);
+            }
+            prev = code;
+        }
+        write(out, buffer);
+    }
+
+    /**
+     * 散列函数，将键的比特充分混合
+     *
+     * @param key 键
+     * @return 散列值
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 清空缓冲区后从通道读取数据，并切换到读模式
+     *
+     * @param in     输入通道
+     * @param buffer 缓冲区
+     * @return {@code true} 读取到了数据
+     * {@code false} 通道已经读完
+     * @throws IOException 读取失败
+     */
+    private static boolean read(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = in.read(buffer);
+        }
+        buffer.flip();
+        return read > 0;
+    }
+
+    /**
+     * 将缓冲区中的数据写入通道并清空缓冲区
+     *
+     * @param out    输出通道
+     * @param buffer 缓冲区
+     * @throws IOException 写入失败
+     */
+    private static void write(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 单元测试
+     *
+     * @param args 命令行参数
+     * @throws IOException 读写失败
+     */
+    public static void main(String[] args) throws IOException {
+        ReadableByteChannel in = Channels.newChannel(System.in);
+        WritableByteChannel out = Channels.newChannel(System.out);
+        switch (args[0]) {
+            case "-":
+                compress(in, out, args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WIDTH);
+                break;
+            case "+":
+                expand(in, out);
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal command line argument");
+        }
+        System.out.flush();
+    }
+}
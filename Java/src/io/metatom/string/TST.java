@@ -1,15 +1,16 @@
 package io.metatom.string;
 
-import edu.princeton.cs.algs4.Queue;
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
 
 /**
  * 基于三向单词查找树的符号表
+ * <p>
+ * keys、keysWithPrefix 和 keysThatMatch 返回惰性的合集，按需生成 key，并提供 offset/limit 分页的版本
  *
  * @param <Value> 泛型类型
  * @author igaozp
- * @version 1.0
+ * @version 1.3
  * @since 2017-07-26
  */
 public class TST<Value> {
@@ -190,13 +191,13 @@ public class TST<Value> {
 
     /**
      * 获取符号表的 key 的合集
+     * <p>
+     * 返回的合集是惰性的，遍历时才在树上逐个查找下一个 key，遍历期间修改符号表的结果是不确定的
      *
      * @return key 的合集
      */
     public Iterable<String> keys() {
-        Queue<String> queue = new Queue<>();
-        collect(root, new StringBuilder(), queue);
-        return queue;
+        return () -> new KeyIterator(root, "", null);
     }
 
     /**
@@ -206,59 +207,147 @@ public class TST<Value> {
      * @return key 的合集
      */
     public Iterable<String> keysWithPrefix(String prefix) {
+        return keysWithPrefix(prefix, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 分页获取指定前缀的 key，跳过的 key 不会生成字符串
+     *
+     * @param prefix 指定的前缀
+     * @param offset 跳过的 key 的数量
+     * @param limit  最多返回的 key 的数量
+     * @return key 的合集
+     */
+    public Iterable<String> keysWithPrefix(String prefix, int offset, int limit) {
         if (prefix == null) {
             throw new IllegalArgumentException("calls keysWithPrefix() with null argument");
         }
-        Queue<String> queue = new Queue<String>();
-        Node<Value> x = get(root, prefix, 0);
-        if (x == null) {
-            return queue;
+        TernaryKeyIterator.checkRange(offset, limit);
+        return () -> {
+            TernaryKeyIterator<Node<?>> it;
+            if (prefix.length() == 0) {
+                it = new KeyIterator(root, "", null);
+            } else {
+                Node<Value> x = get(root, prefix, 0);
+                it = new KeyIterator(x == null ? null : x.mid, prefix, null);
+                it.self = x != null && x.val != null;
+            }
+            return it.page(offset, limit);
+        };
+    }
+
+    /**
+     * 获取与模式匹配的所有的 key，'.' 可以匹配任意字符
+     *
+     * @param pattern 匹配的模式
+     * @return key 的合集
+     */
+    public Iterable<String> keysThatMatch(String pattern) {
+        return keysThatMatch(pattern, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 分页获取与模式匹配的 key
+     *
+     * @param pattern 匹配的模式
+     * @param offset  跳过的 key 的数量
+     * @param limit   最多返回的 key 的数量
+     * @return key 的合集
+     */
+    public Iterable<String> keysThatMatch(String pattern, int offset, int limit) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("calls keysThatMatch() with null argument");
         }
-        if (x.val != null) {
-            queue.enqueue(prefix);
+        TernaryKeyIterator.checkRange(offset, limit);
+        return () -> new KeyIterator(pattern.length() == 0 ? null : root, "", pattern).page(offset, limit);
+    }
+
+    /**
+     * 获取与查询字符串的编辑距离不超过 maxDistance 的所有 key
+     *
+     * @param query       查询字符串
+     * @param maxDistance 允许的最大编辑距离
+     * @return 按编辑距离从小到大排列的 key，距离相同时按字典序
+     */
+    public Iterable<String> keysWithinDistance(String query, int maxDistance) {
+        return nearestKeys(query, maxDistance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获取与查询字符串的编辑距离不超过 maxDistance 的最近的 k 个 key
+     * <p>
+     * 沿树向下逐行计算 Levenshtein 动态规划表，一行中的最小值超过当前的界限时剪掉整棵中子树，
+     * 已找到 k 个结果后界限随之收紧
+     *
+     * @param query       查询字符串
+     * @param maxDistance 允许的最大编辑距离
+     * @param k           最多返回的 key 的数量
+     * @return 按编辑距离从小到大排列的 key，距离相同时按字典序
+     */
+    public Iterable<String> nearestKeys(String query, int maxDistance, int k) {
+        if (query == null) {
+            throw new IllegalArgumentException("calls nearestKeys() with null argument");
         }
-        collect(x.mid, new StringBuilder(prefix), queue);
-        return queue;
+        EditDistance search = new EditDistance(query, maxDistance, k);
+        collect(root, new StringBuilder(), search);
+        return search.keys();
     }
 
-    private void collect(Node<Value> x, StringBuilder prefix, Queue<String> queue) {
+    /**
+     * 在指定节点下进行编辑距离搜索
+     *
+     * @param x      指定的节点
+     * @param prefix 到达该节点所在层的前缀
+     * @param search 编辑距离搜索的状态
+     */
+    private void collect(Node<Value> x, StringBuilder prefix, EditDistance search) {
         if (x == null) {
             return;
         }
-        collect(x.left, prefix, queue);
-        if (x.val != null) {
-            queue.enqueue(prefix.toString() + x.c);
+        int d = prefix.length();
+        collect(x.left, prefix, search);
+        if (search.descend(d, x.c)) {
+            prefix.append(x.c);
+            if (x.val != null) {
+                search.offer(prefix);
+            }
+            collect(x.mid, prefix, search);
+            prefix.setLength(d);
         }
-        collect(x.mid, prefix.append(x.c), queue);
-        prefix.deleteCharAt(prefix.length() - 1);
-        collect(x.right, prefix, queue);
+        collect(x.right, prefix, search);
     }
 
-    public Iterable<String> keysThatMatch(String pattern) {
-        Queue<String> queue = new Queue<>();
-        collect(root, new StringBuilder(), 0, pattern, queue);
-        return queue;
-    }
+    /**
+     * 按字典序惰性遍历 key 的迭代器
+     */
+    private class KeyIterator extends TernaryKeyIterator<Node<?>> {
+        KeyIterator(Node<?> x, String prefix, String pattern) {
+            super(x, prefix, pattern);
+        }
 
-    private void collect(Node<Value> x, StringBuilder prefix, int i, String pattern, Queue<String> queue) {
-        if (x == null) {
-            return;
+        @Override
+        char c(Node<?> x) {
+            return x.c;
         }
-        char c = pattern.charAt(i);
-        if (c == '.' || c < x.c) {
-            collect(x.left, prefix, i, pattern, queue);
+
+        @Override
+        Node<?> left(Node<?> x) {
+            return x.left;
         }
-        if (c == '.' || c == x.c) {
-            if (i == pattern.length() - 1 && x.val != null) {
-                queue.enqueue(prefix.toString() + x.c);
-            }
-            if (i < pattern.length() - 1) {
-                collect(x.mid, prefix.append(x.c), i + 1, pattern, queue);
-                prefix.deleteCharAt(prefix.length() - 1);
-            }
+
+        @Override
+        Node<?> mid(Node<?> x) {
+            return x.mid;
         }
-        if (c == '.' || c > x.c) {
-            collect(x.right, prefix, i, pattern, queue);
+
+        @Override
+        Node<?> right(Node<?> x) {
+            return x.right;
+        }
+
+        @Override
+        boolean hasValue(Node<?> x) {
+            return x.val != null;
         }
     }
 
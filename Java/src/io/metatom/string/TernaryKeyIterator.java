@@ -0,0 +1,212 @@
+package io.metatom.string;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 按字典序惰性遍历三向单词查找树中的 key 的迭代器
+ * <p>
+ * 使用显式的栈模拟 左子树、当前节点、中子树、右子树 的中序遍历，每个栈帧记录节点、
+ * 节点字符在前缀中的位置和遍历的阶段，所有的 key 共享同一个 StringBuilder，只有返回的 key 才会生成字符串。
+ * 子类通过访问节点字段的方法适配各自的节点类型，{@link TST} 和 {@link ConcurrentTST} 共用这一实现
+ *
+ * @param <N> 节点类型
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+abstract class TernaryKeyIterator<N> implements Iterator<String> {
+    /**
+     * 阶段：待访问左子树、待访问当前节点、待访问中子树和右子树
+     */
+    private static final byte LEFT = 0;
+    private static final byte SELF = 1;
+    private static final byte REST = 2;
+
+    private final StringBuilder prefix;
+    /**
+     * 匹配的模式，为 null 时返回所有的 key
+     */
+    private final String pattern;
+    private Object[] nodes = new Object[16];
+    private int[] depths = new int[16];
+    private byte[] stages = new byte[16];
+    private int top;
+    /**
+     * 前缀本身是否为 key
+     */
+    boolean self;
+    /**
+     * prefix 中是否有尚未返回的 key
+     */
+    private boolean ready;
+    /**
+     * 剩余可以返回的 key 的数量
+     */
+    private int remaining = Integer.MAX_VALUE;
+
+    /**
+     * 构造方法
+     *
+     * @param x       开始遍历的节点
+     * @param prefix  到达该节点所在层的前缀
+     * @param pattern 匹配的模式，'.' 可以匹配任意字符，为 null 时返回所有的 key
+     */
+    TernaryKeyIterator(N x, String prefix, String pattern) {
+        this.prefix = new StringBuilder(prefix);
+        this.pattern = pattern;
+        push(x, prefix.length());
+    }
+
+    /**
+     * 节点的字符
+     *
+     * @param x 节点
+     * @return 字符
+     */
+    abstract char c(N x);
+
+    /**
+     * 节点的左子树
+     *
+     * @param x 节点
+     * @return 左子树
+     */
+    abstract N left(N x);
+
+    /**
+     * 节点的中子树
+     *
+     * @param x 节点
+     * @return 中子树
+     */
+    abstract N mid(N x);
+
+    /**
+     * 节点的右子树
+     *
+     * @param x 节点
+     * @return 右子树
+     */
+    abstract N right(N x);
+
+    /**
+     * 节点是否对应一个 key
+     *
+     * @param x 节点
+     * @return {@code true} 节点有值
+     */
+    abstract boolean hasValue(N x);
+
+    /**
+     * 检查分页参数
+     *
+     * @param offset 跳过的数量
+     * @param limit  最多返回的数量
+     */
+    static void checkRange(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset is negative: " + offset);
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit is negative: " + limit);
+        }
+    }
+
+    /**
+     * 跳过前 offset 个 key，并限制返回的数量
+     *
+     * @param offset 跳过的数量
+     * @param limit  最多返回的数量
+     * @return 迭代器本身
+     */
+    TernaryKeyIterator<N> page(int offset, int limit) {
+        for (int i = 0; i < offset && advance(); i++) {
+            ready = false;
+        }
+        remaining = limit;
+        return this;
+    }
+
+    private void push(N x, int depth) {
+        if (x == null) {
+            return;
+        }
+        if (top == nodes.length) {
+            nodes = Arrays.copyOf(nodes, top * 2);
+            depths = Arrays.copyOf(depths, top * 2);
+            stages = Arrays.copyOf(stages, top * 2);
+        }
+        nodes[top] = x;
+        depths[top] = depth;
+        stages[top] = LEFT;
+        top++;
+    }
+
+    /**
+     * 前进到下一个 key，并将其放在 prefix 中
+     *
+     * @return {@code true} 找到了下一个 key
+     */
+    @SuppressWarnings("unchecked")
+    private boolean advance() {
+        if (ready) {
+            return true;
+        }
+        if (self) {
+            self = false;
+            return ready = true;
+        }
+        while (top > 0) {
+            int t = top - 1;
+            N x = (N) nodes[t];
+            int d = depths[t];
+            char p = pattern == null ? '.' : pattern.charAt(d);
+            char c = c(x);
+            switch (stages[t]) {
+                case LEFT:
+                    stages[t] = SELF;
+                    if (p == '.' || p < c) {
+                        push(left(x), d);
+                    }
+                    break;
+                case SELF:
+                    stages[t] = REST;
+                    prefix.setLength(d);
+                    prefix.append(c);
+                    if (hasValue(x) && (p == '.' || p == c)
+                            && (pattern == null || d == pattern.length() - 1)) {
+                        return ready = true;
+                    }
+                    break;
+                default:
+                    top--;
+                    nodes[top] = null;
+                    if (p == '.' || p > c) {
+                        push(right(x), d);
+                    }
+                    if ((p == '.' || p == c) && (pattern == null || d < pattern.length() - 1)) {
+                        push(mid(x), d + 1);
+                    }
+                    break;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remaining > 0 && advance();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        remaining--;
+        return prefix.toString();
+    }
+}
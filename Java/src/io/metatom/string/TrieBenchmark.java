@@ -0,0 +1,189 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+import edu.princeton.cs.algs4.StdRandom;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 单词查找树符号表的基准测试
+ * <p>
+ * 从标准输入读取键，分别构造各个符号表，输出每个键占用的堆内存和查找的平均延迟。
+ * 内存通过构造前后两次 GC 之后的已用堆大小之差估算，结果仅供横向比较。
+ * 使用参数 fuzzy 运行时改为测试编辑距离为 1 和 2 的最近 {@value #TOP_K} 个键的查询延迟
+ *
+ * @author igaozp
+ * @version 1.2
+ * @since 2026-10-19
+ */
+public class TrieBenchmark {
+    /**
+     * 查找的轮数
+     */
+    private static final int ROUNDS = 5;
+    /**
+     * 编辑距离查询的数量
+     */
+    private static final int FUZZY_QUERIES = 1000;
+    /**
+     * 编辑距离查询返回的键的数量
+     */
+    private static final int TOP_K = 10;
+
+    /**
+     * 获取 GC 之后已使用的堆内存
+     *
+     * @return 已使用的堆内存字节数
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 测试一个符号表
+     *
+     * @param name  符号表的名称
+     * @param keys  插入的键
+     * @param build 根据键构造符号表
+     * @param get   在符号表中查找键
+     * @param <T>   符号表的类型
+     */
+    private static <T> void run(String name, String[] keys, Function<String[], T> build, BiFunction<T, String, Object> get) {
+        long before = usedMemory();
+        T st = build.apply(keys);
+        long bytes = usedMemory() - before;
+
+        String[] queries = keys.clone();
+        StdRandom.shuffle(queries);
+        // 预热
+        long found = 0;
+        for (String key : queries) {
+            if (get.apply(st, key) != null) {
+                found++;
+            }
+        }
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (String key : queries) {
+                if (get.apply(st, key) != null) {
+                    found++;
+                }
+            }
+        }
+        double ns = (double) (System.nanoTime() - start) / ((long) ROUNDS * queries.length);
+
+        StdOut.printf("%-14s %10.1f bytes/key %10.1f ns/get   (%d hits)%n", name, (double) bytes / keys.length, ns, found);
+    }
+
+    /**
+     * 测试编辑距离查询的延迟
+     *
+     * @param name    符号表的名称
+     * @param st      符号表
+     * @param queries 查询的字符串
+     * @param search  在符号表中进行编辑距离查询，参数依次为符号表、查询字符串和编辑距离
+     * @param <T>     符号表的类型
+     */
+    private static <T> void fuzzy(String name, T st, String[] queries, FuzzySearch<T> search) {
+        for (int distance = 1; distance <= 2; distance++) {
+            long results = 0;
+            long start = System.nanoTime();
+            for (String query : queries) {
+                for (String key : search.apply(st, query, distance)) {
+                    results++;
+                }
+            }
+            double us = (System.nanoTime() - start) / 1e3 / queries.length;
+            StdOut.printf("%-14s distance %d %10.1f us/query   (%.1f results/query)%n",
+                    name, distance, us, (double) results / queries.length);
+        }
+    }
+
+    /**
+     * 编辑距离查询
+     *
+     * @param <T> 符号表的类型
+     */
+    private interface FuzzySearch<T> {
+        Iterable<String> apply(T st, String query, int distance);
+    }
+
+    /**
+     * 从键中随机选取并替换一个字符，生成编辑距离查询
+     *
+     * @param keys 键
+     * @return 查询的字符串
+     */
+    private static String[] fuzzyQueries(String[] keys) {
+        String[] queries = new String[Math.min(FUZZY_QUERIES, keys.length)];
+        for (int i = 0; i < queries.length; i++) {
+            char[] a = keys[StdRandom.uniform(keys.length)].toCharArray();
+            if (a.length > 0) {
+                a[StdRandom.uniform(a.length)] = (char) ('a' + StdRandom.uniform(26));
+            }
+            queries[i] = new String(a);
+        }
+        return queries;
+    }
+
+    /**
+     * 运行基准测试
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        String[] keys = StdIn.readAllStrings();
+        StdOut.println(keys.length + " keys");
+
+        if (args.length > 0 && "fuzzy".equals(args[0])) {
+            String[] queries = fuzzyQueries(keys);
+            TST<Integer> tst = new TST<>();
+            TriesST<Integer> tries = new TriesST<>();
+            for (int i = 0; i < keys.length; i++) {
+                tst.put(keys[i], i);
+                tries.put(keys[i], i);
+            }
+            fuzzy("TST", tst, queries, (st, q, d) -> st.nearestKeys(q, d, TOP_K));
+            fuzzy("TriesST", tries, queries, (st, q, d) -> st.nearestKeys(q, d, TOP_K));
+            return;
+        }
+
+        run("TriesST", keys, k -> {
+            TriesST<Integer> st = new TriesST<>();
+            for (int i = 0; i < k.length; i++) {
+                st.put(k[i], i);
+            }
+            return st;
+        }, TriesST::get);
+
+        run("SparseTriesST", keys, k -> {
+            SparseTriesST<Integer> st = new SparseTriesST<>();
+            for (int i = 0; i < k.length; i++) {
+                st.put(k[i], i);
+            }
+            return st;
+        }, SparseTriesST::get);
+
+        run("RadixST", keys, k -> {
+            RadixST<Integer> st = new RadixST<>();
+            for (int i = 0; i < k.length; i++) {
+                st.put(k[i], i);
+            }
+            return st;
+        }, RadixST::get);
+
+        run("TST", keys, k -> {
+            TST<Integer> st = new TST<>();
+            for (int i = 0; i < k.length; i++) {
+                st.put(k[i], i);
+            }
+            return st;
+        }, TST::get);
+    }
+}
@@ -1,16 +1,22 @@
 package io.metatom.string;
 
-import edu.princeton.cs.algs4.Queue;
 import edu.princeton.cs.algs4.StdIn;
 import edu.princeton.cs.algs4.StdOut;
-import edu.princeton.cs.algs4.TrieST;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * 基于单词查找树的符号表
+ * <p>
+ * 每个节点都含有大小为 R 的链接数组，查找速度快但内存占用大，
+ * 键较多时可以使用 {@link SparseTriesST}。
+ * keys、keysWithPrefix 和 keysThatMatch 返回惰性的合集，按需生成键，并提供 offset/limit 分页的版本
  *
  * @param <Value> 泛型类型
  * @author igaozp
- * @version 1.0
+ * @version 1.3
  * @since 2017-07-25
  */
 public class TriesST<Value> {
@@ -38,7 +44,7 @@ public class TriesST<Value> {
     /**
      * 构造方法
      */
-    private TriesST() {
+    public TriesST() {
     }
 
     /**
@@ -112,6 +118,9 @@ public class TriesST<Value> {
             x = new Node();
         }
         if (d == key.length()) {
+            if (x.val == null) {
+                n++;
+            }
             x.val = val;
             return x;
         }
@@ -141,6 +150,8 @@ public class TriesST<Value> {
 
     /**
      * 获取符号表中所有的键
+     * <p>
+     * 返回的合集是惰性的，遍历时才在树上逐个查找下一个键，遍历期间修改符号表的结果是不确定的
      *
      * @return 所有的键
      */
@@ -155,30 +166,23 @@ public class TriesST<Value> {
      * @return 键的集合
      */
     public Iterable<String> keysWithPrefix(String pre) {
-        Queue<String> q = new Queue<>();
-        collect(get(root, pre, 0), new StringBuilder(pre), q);
-        return q;
+        return keysWithPrefix(pre, 0, Integer.MAX_VALUE);
     }
 
     /**
-     * 在指定节点下获取指定前缀的键的集合
+     * 分页查找指定前缀的键，跳过的键不会生成字符串
      *
-     * @param x   指定的节点
-     * @param pre 指定的前缀
-     * @param q   存储键的队列
+     * @param pre    指定的前缀
+     * @param offset 跳过的键的数量
+     * @param limit  最多返回的键的数量
+     * @return 键的集合
      */
-    private void collect(Node x, StringBuilder pre, Queue<String> q) {
-        if (x == null) {
-            return;
-        }
-        if (x.val != null) {
-            q.enqueue(pre.toString());
-        }
-        for (char c = 0; c < R; c++) {
-            pre.append(c);
-            collect(x.next[c], pre, q);
-            pre.deleteCharAt(pre.length() - 1);
+    public Iterable<String> keysWithPrefix(String pre, int offset, int limit) {
+        if (pre == null) {
+            throw new IllegalArgumentException("argument to keysWithPrefix() is null");
         }
+        checkRange(offset, limit);
+        return () -> new KeyIterator(get(root, pre, 0), pre, null).page(offset, limit);
     }
 
     /**
@@ -188,38 +192,220 @@ public class TriesST<Value> {
      * @return 键的集合
      */
     public Iterable<String> keysThatMatch(String pat) {
-        Queue<String> q = new Queue<>();
-        collect(root, new StringBuilder(), pat, q);
-        return q;
+        return keysThatMatch(pat, 0, Integer.MAX_VALUE);
     }
 
     /**
-     * 在指定的节点和前缀下，对指定的字符串进行匹配
+     * 分页查找相匹配的键
      *
-     * @param x   指定的节点
-     * @param pre 指定的前缀
-     * @param pat 匹配的字符串
-     * @param q   存储匹配的字符串
+     * @param pat    匹配的字符串
+     * @param offset 跳过的键的数量
+     * @param limit  最多返回的键的数量
+     * @return 键的集合
+     */
+    public Iterable<String> keysThatMatch(String pat, int offset, int limit) {
+        if (pat == null) {
+            throw new IllegalArgumentException("argument to keysThatMatch() is null");
+        }
+        checkRange(offset, limit);
+        return () -> new KeyIterator(root, "", pat).page(offset, limit);
+    }
+
+    /**
+     * 获取与查询字符串的编辑距离不超过 maxDistance 的所有键
+     *
+     * @param query       查询字符串
+     * @param maxDistance 允许的最大编辑距离
+     * @return 按编辑距离从小到大排列的键，距离相同时按字典序
+     */
+    public Iterable<String> keysWithinDistance(String query, int maxDistance) {
+        return nearestKeys(query, maxDistance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 获取与查询字符串的编辑距离不超过 maxDistance 的最近的 k 个键
+     * <p>
+     * 沿树向下逐行计算 Levenshtein 动态规划表，一行中的最小值超过当前的界限时剪掉整棵子树，
+     * 已找到 k 个结果后界限随之收紧
+     *
+     * @param query       查询字符串
+     * @param maxDistance 允许的最大编辑距离
+     * @param k           最多返回的键的数量
+     * @return 按编辑距离从小到大排列的键，距离相同时按字典序
+     */
+    public Iterable<String> nearestKeys(String query, int maxDistance, int k) {
+        if (query == null) {
+            throw new IllegalArgumentException("argument to nearestKeys() is null");
+        }
+        EditDistance search = new EditDistance(query, maxDistance, k);
+        collect(root, new StringBuilder(), search);
+        return search.keys();
+    }
+
+    /**
+     * 在指定节点下进行编辑距离搜索
+     *
+     * @param x      指定的节点
+     * @param prefix 到达该节点的前缀
+     * @param search 编辑距离搜索的状态
      */
-    private void collect(Node x, StringBuilder pre, String pat, Queue<String> q) {
+    private void collect(Node x, StringBuilder prefix, EditDistance search) {
         if (x == null) {
             return;
         }
-        int d = pre.length();
-        if (d == pat.length() && x.val != null) {
-            q.enqueue(pre.toString());
+        if (x.val != null) {
+            search.offer(prefix);
         }
-        if (d == pat.length()) {
-            return;
+        int d = prefix.length();
+        for (char c = 0; c < R; c++) {
+            if (x.next[c] != null && search.descend(d, c)) {
+                prefix.append(c);
+                collect(x.next[c], prefix, search);
+                prefix.setLength(d);
+            }
         }
+    }
 
-        char next = pat.charAt(d);
-        for (char c = 0; c < R; c++) {
-            if (next == '.' || next == c) {
-                pre.append(c);
-                collect(x.next[c], pre, pat, q);
-                pre.deleteCharAt(pre.length() - 1);
+    /**
+     * 检查分页参数
+     *
+     * @param offset 跳过的数量
+     * @param limit  最多返回的数量
+     */
+    private static void checkRange(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset is negative: " + offset);
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit is negative: " + limit);
+        }
+    }
+
+    /**
+     * 按字典序惰性遍历键的迭代器
+     * <p>
+     * 栈中的第 i 层对应长度为 起始前缀长度 + i 的前缀，每层记录节点和下一个要访问的字符，
+     * 所有的键共享同一个 StringBuilder，只有返回的键才会生成字符串
+     */
+    private static class KeyIterator implements Iterator<String> {
+        private final StringBuilder pre;
+        /**
+         * 匹配的字符串，为 null 时返回所有的键
+         */
+        private final String pat;
+        /**
+         * 起始前缀的长度
+         */
+        private final int base;
+        private Node[] nodes = new Node[16];
+        /**
+         * 每层下一个要访问的字符，-1 表示节点本身还未检查
+         */
+        private int[] next = new int[16];
+        private int top;
+        /**
+         * pre 中是否有尚未返回的键
+         */
+        private boolean ready;
+        /**
+         * 剩余可以返回的键的数量
+         */
+        private int remaining = Integer.MAX_VALUE;
+
+        KeyIterator(Node x, String pre, String pat) {
+            this.pre = new StringBuilder(pre);
+            this.pat = pat;
+            this.base = pre.length();
+            push(x);
+        }
+
+        /**
+         * 跳过前 offset 个键，并限制返回的数量
+         *
+         * @param offset 跳过的数量
+         * @param limit  最多返回的数量
+         * @return 迭代器本身
+         */
+        KeyIterator page(int offset, int limit) {
+            for (int i = 0; i < offset && advance(); i++) {
+                ready = false;
+            }
+            remaining = limit;
+            return this;
+        }
+
+        private void push(Node x) {
+            if (x == null) {
+                return;
+            }
+            if (top == nodes.length) {
+                nodes = Arrays.copyOf(nodes, top * 2);
+                next = Arrays.copyOf(next, top * 2);
+            }
+            nodes[top] = x;
+            next[top] = -1;
+            top++;
+        }
+
+        /**
+         * 前进到下一个键，并将其放在 pre 中
+         *
+         * @return {@code true} 找到了下一个键
+         */
+        private boolean advance() {
+            if (ready) {
+                return true;
+            }
+            while (top > 0) {
+                int t = top - 1;
+                Node x = nodes[t];
+                int d = base + t;
+                if (next[t] < 0) {
+                    next[t] = 0;
+                    if (x.val != null && (pat == null || d == pat.length())) {
+                        pre.setLength(d);
+                        return ready = true;
+                    }
+                }
+                int c = next[t];
+                int end = R;
+                if (pat != null) {
+                    if (d == pat.length()) {
+                        c = R;
+                    } else if (pat.charAt(d) != '.') {
+                        c = Math.max(c, pat.charAt(d));
+                        end = Math.min(R, pat.charAt(d) + 1);
+                    }
+                }
+                while (c < end && x.next[c] == null) {
+                    c++;
+                }
+                if (c < end) {
+                    next[t] = c + 1;
+                    pre.setLength(d);
+                    pre.append((char) c);
+                    push(x.next[c]);
+                } else {
+                    top--;
+                    nodes[top] = null;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && advance();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            ready = false;
+            remaining--;
+            return pre.toString();
         }
     }
 
@@ -282,6 +468,9 @@ public class TriesST<Value> {
             return null;
         }
         if (d == key.length()) {
+            if (x.val != null) {
+                n--;
+            }
             x.val = null;
         } else {
             char c = key.charAt(d);
@@ -305,7 +494,7 @@ public class TriesST<Value> {
      */
     public static void main(String[] args) {
         // build symbol table from standard input
-        TrieST<Integer> st = new TrieST<Integer>();
+        TriesST<Integer> st = new TriesST<>();
         for (int i = 0; !StdIn.isEmpty(); i++) {
             String key = StdIn.readString();
             st.put(key, i);
@@ -0,0 +1,349 @@
+package io.metatom.string;
+
+import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.StdIn;
+import edu.princeton.cs.algs4.StdOut;
+import io.metatom.sort.MaxPQ;
+
+/**
+ * 支持按权重补全前缀的三向单词查找树
+ * <p>
+ * 每个键带有一个 long 类型的权重，每个节点缓存以它为根的子树（包括左右子树）中的最大权重。
+ * 补全时从前缀对应的节点开始做最佳优先搜索：优先队列中的每一项是一棵子树或一个完整的键，
+ * 优先级为子树的最大权重或键的权重，每次取出最大的一项并展开它的左、中、右子树，
+ * 取出的键即按权重从大到小排列，得到前 k 个结果只需要展开 O(k * 键长) 个节点，与匹配的键的总数无关
+ *
+ * @author igaozp
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class WeightedTST {
+    /**
+     * 表示没有键的权重
+     */
+    private static final long NONE = Long.MIN_VALUE;
+    /**
+     * 根节点
+     */
+    private Node root;
+    /**
+     * 键的数量
+     */
+    private int n;
+
+    /**
+     * 内部定义的节点类
+     */
+    private static class Node {
+        private char c;
+        private Node left;
+        private Node mid;
+        private Node right;
+        /**
+         * 以该节点结尾的键的权重，不是键时为 NONE
+         */
+        private long weight = NONE;
+        /**
+         * 子树中的最大权重
+         */
+        private long max = NONE;
+    }
+
+    /**
+     * 前缀，按照字符从后向前链接，多个搜索项共享公共的部分
+     */
+    private static class Path {
+        private final char c;
+        private final Path parent;
+        private final int length;
+
+        Path(char c, Path parent) {
+            this.c = c;
+            this.parent = parent;
+            this.length = parent == null ? 1 : parent.length + 1;
+        }
+
+        @Override
+        public String toString() {
+            char[] a = new char[length];
+            for (Path p = this; p != null; p = p.parent) {
+                a[p.length - 1] = p.c;
+            }
+            return new String(a);
+        }
+    }
+
+    /**
+     * 最佳优先搜索的一项
+     */
+    private static class Entry {
+        /**
+         * 子树的根节点，为 null 时表示一个完整的键
+         */
+        private final Node node;
+        /**
+         * 子树之前的前缀，或者完整的键
+         */
+        private final Path path;
+        private final long priority;
+
+        Entry(Node node, Path path, long priority) {
+            this.node = node;
+            this.path = path;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * 构造方法
+     */
+    public WeightedTST() {
+    }
+
+    /**
+     * 获取键的数量
+     *
+     * @return 键的数量
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * 符号表是否为空
+     *
+     * @return {@code true} 符号表为空
+     * {@code false} 符号表不为空
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 检查指定的键是否存在
+     *
+     * @param key 指定的键
+     * @return {@code true} 存在
+     * {@code false} 不存在
+     */
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 获取键的权重
+     *
+     * @param key 指定的键
+     * @return 权重，键不存在时为 null
+     */
+    public Long get(String key) {
+        checkKey(key, "get");
+        Node x = get(root, key, 0);
+        if (x == null || x.weight == NONE) {
+            return null;
+        }
+        return x.weight;
+    }
+
+    /**
+     * 检查键是否合法
+     *
+     * @param key    键
+     * @param method 调用的方法名
+     */
+    private static void checkKey(String key, String method) {
+        if (key == null) {
+            throw new IllegalArgumentException("calls " + method + "() with null argument");
+        }
+        if (key.length() == 0) {
+            throw new IllegalArgumentException("key must have length >= 1");
+        }
+    }
+
+    /**
+     * 在指定节点下查找字符串相关联的节点
+     *
+     * @param x   指定的节点
+     * @param key 用字符串表示的键
+     * @param d   记录查找字符串的字符位置
+     * @return 查找到的节点
+     */
+    private static Node get(Node x, String key, int d) {
+        while (x != null) {
+            char c = key.charAt(d);
+            if (c < x.c) {
+                x = x.left;
+            } else if (c > x.c) {
+                x = x.right;
+            } else if (d < key.length() - 1) {
+                x = x.mid;
+                d++;
+            } else {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 添加键或者更新键的权重
+     *
+     * @param key    键
+     * @param weight 权重
+     */
+    public void put(String key, long weight) {
+        checkKey(key, "put");
+        if (weight == NONE) {
+            throw new IllegalArgumentException("weight must be greater than Long.MIN_VALUE");
+        }
+        root = put(root, key, weight, 0);
+    }
+
+    /**
+     * 在指定节点下设置键的权重，并更新经过的节点的最大权重
+     *
+     * @param x      指定的节点
+     * @param key    键
+     * @param weight 权重，为 NONE 时删除该键
+     * @param d      记录查找字符串的字符位置
+     * @return 更新后的节点
+     */
+    private Node put(Node x, String key, long weight, int d) {
+        char c = key.charAt(d);
+        if (x == null) {
+            if (weight == NONE) {
+                return null;
+            }
+            x = new Node();
+            x.c = c;
+        }
+        if (c < x.c) {
+            x.left = put(x.left, key, weight, d);
+        } else if (c > x.c) {
+            x.right = put(x.right, key, weight, d);
+        } else if (d < key.length() - 1) {
+            x.mid = put(x.mid, key, weight, d + 1);
+        } else {
+            if (x.weight == NONE && weight != NONE) {
+                n++;
+            } else if (x.weight != NONE && weight == NONE) {
+                n--;
+            }
+            x.weight = weight;
+        }
+        if (x.weight == NONE && x.mid == null && (x.left == null || x.right == null)) {
+            // 节点不再含有键，用唯一的兄弟子树代替
+            return x.left == null ? x.right : x.left;
+        }
+        x.max = Math.max(x.weight, Math.max(max(x.left), Math.max(max(x.mid), max(x.right))));
+        return x;
+    }
+
+    /**
+     * 子树中的最大权重
+     *
+     * @param x 子树的根节点
+     * @return 最大权重，子树为空时为 NONE
+     */
+    private static long max(Node x) {
+        return x == null ? NONE : x.max;
+    }
+
+    /**
+     * 删除指定的键
+     *
+     * @param key 指定的键
+     */
+    public void delete(String key) {
+        checkKey(key, "delete");
+        root = put(root, key, NONE, 0);
+    }
+
+    /**
+     * 按权重从大到小获取指定前缀的前 k 个键
+     *
+     * @param prefix 指定的前缀
+     * @param k      最多返回的键的数量
+     * @return 键的集合，权重相同的键的顺序不确定
+     */
+    public Iterable<String> topK(String prefix, int k) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("calls topK() with null argument");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("k is negative: " + k);
+        }
+        Queue<String> result = new Queue<>();
+        MaxPQ<Entry> pq = new MaxPQ<>((a, b) -> Long.compare(a.priority, b.priority));
+        if (prefix.length() == 0) {
+            push(pq, root, null);
+        } else {
+            Node x = get(root, prefix, 0);
+            if (x == null) {
+                return result;
+            }
+            Path path = null;
+            for (int i = 0; i < prefix.length(); i++) {
+                path = new Path(prefix.charAt(i), path);
+            }
+            if (x.weight != NONE) {
+                pq.insert(new Entry(null, path, x.weight));
+            }
+            push(pq, x.mid, path);
+        }
+
+        while (result.size() < k && !pq.isEmpty()) {
+            Entry e = pq.delMax();
+            Node x = e.node;
+            if (x == null) {
+                result.enqueue(e.path.toString());
+                continue;
+            }
+            push(pq, x.left, e.path);
+            push(pq, x.right, e.path);
+            Path path = new Path(x.c, e.path);
+            if (x.weight != NONE) {
+                pq.insert(new Entry(null, path, x.weight));
+            }
+            push(pq, x.mid, path);
+        }
+        return result;
+    }
+
+    /**
+     * 将含有键的子树加入优先队列
+     *
+     * @param pq   优先队列
+     * @param x    子树的根节点
+     * @param path 子树之前的前缀
+     */
+    private static void push(MaxPQ<Entry> pq, Node x, Path path) {
+        if (x != null && x.max != NONE) {
+            pq.insert(new Entry(x, path, x.max));
+        }
+    }
+
+    /**
+     * 单元测试
+     * <p>
+     * 以标准输入中每个单词出现的次数作为权重，输出命令行参数中每个前缀的前 5 个补全
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        WeightedTST st = new WeightedTST();
+        while (!StdIn.isEmpty()) {
+            String key = StdIn.readString();
+            Long weight = st.get(key);
+            st.put(key, weight == null ? 1 : weight + 1);
+        }
+        StdOut.println(st.size() + " keys");
+        for (String prefix : args) {
+            StdOut.println("topK(\"" + prefix + "\", 5):");
+            for (String key : st.topK(prefix, 5)) {
+                StdOut.println(key + " " + st.get(key));
+            }
+            StdOut.println();
+        }
+    }
+}